@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.dto.BookingInfoDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Entity graphs and DTO lists shaped like the server's real responses.
+ */
+final class Fixtures {
+    static final LocalDateTime NOW = LocalDateTime.of(2023, 3, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static ObjectMapper jsonMapper(Module... modules) {
+        return Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(modules)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static ObjectMapper smileMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(new SmileFactory())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static User user(long id) {
+        return new User(id, "User " + id, "user" + id + "@example.com", false);
+    }
+
+    static Item item(long id, User owner) {
+        return Item.builder()
+                .id(id)
+                .name("Item " + id)
+                .description("Cordless drill number " + id + " with two batteries and a case")
+                .available(true)
+                .owner(owner)
+                .build();
+    }
+
+    static Booking booking(long id, Item item, User booker) {
+        return new Booking(id, NOW.plusDays(id), NOW.plusDays(id + 1), item, booker, Status.APPROVED);
+    }
+
+    static ItemRequest request(long id, int items) {
+        User owner = user(1);
+        List<Item> requestItems = IntStream.rangeClosed(1, items)
+                .mapToObj(i -> item(i, owner))
+                .collect(Collectors.toList());
+        return new ItemRequest(id, "Need a drill for the weekend", 2L, NOW, requestItems);
+    }
+
+    static List<Booking> bookings(int size) {
+        User owner = user(1);
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(i -> booking(i, item(i, owner), user(i + 1)))
+                .collect(Collectors.toList());
+    }
+
+    static List<BookingOutDto> bookingDtos(int size) {
+        return bookings(size).stream()
+                .map(BookingMapper::toBookingOutDto)
+                .collect(Collectors.toList());
+    }
+
+    static List<ItemDto> itemDtos(int size, int commentsPerItem) {
+        User owner = user(1);
+        return IntStream.rangeClosed(1, size)
+                .mapToObj(i -> ItemMapper.toItemDto(item(i, owner),
+                        new BookingInfoDto((long) i, 2L, NOW.minusDays(2), NOW.minusDays(1)),
+                        new BookingInfoDto((long) i + 1, 3L, NOW.plusDays(1), NOW.plusDays(2)),
+                        comments(commentsPerItem)))
+                .collect(Collectors.toList());
+    }
+
+    private static List<CommentDto> comments(int size) {
+        List<CommentDto> comments = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            comments.add(new CommentDto(i, "Worked great, returned on time", "User " + i, NOW.minusHours(i)));
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the gateway does with a server response body: the old decode-to-Object and re-encode round trip,
+ * the current raw byte pass-through, and the Smile-to-JSON token copy used with the Smile wire format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GatewayBodyBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private byte[] json;
+    private byte[] smile;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = Fixtures.jsonMapper().writeValueAsBytes(Fixtures.itemDtos(size, 3));
+        smile = Fixtures.smileMapper().writeValueAsBytes(Fixtures.itemDtos(size, 3));
+    }
+
+    @Benchmark
+    public byte[] reencode() throws IOException {
+        return objectMapper.writeValueAsBytes(objectMapper.readValue(json, Object.class));
+    }
+
+    @Benchmark
+    public byte[] passThrough() {
+        return json;
+    }
+
+    @Benchmark
+    public byte[] smileToJson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = smileFactory.createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the two big list responses with reflection against Blackbird, and a fresh writer and buffer per call
+ * against a reused writer and a generator that emits one element at a time, as the server does for large pages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListSerializationBenchmark {
+    @Param({"reflection", "blackbird"})
+    private String access;
+
+    @Param({"1000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private ObjectWriter bookingsWriter;
+    private ObjectWriter bookingWriter;
+    private ObjectWriter itemsWriter;
+    private ObjectWriter itemWriter;
+    private List<BookingOutDto> bookings;
+    private List<ItemDto> items;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() {
+        mapper = "blackbird".equals(access) ? Fixtures.jsonMapper(new BlackbirdModule()) : Fixtures.jsonMapper();
+        bookingsWriter = mapper.writerFor(new TypeReference<List<BookingOutDto>>() {
+        });
+        bookingWriter = mapper.writerFor(BookingOutDto.class);
+        itemsWriter = mapper.writerFor(new TypeReference<List<ItemDto>>() {
+        });
+        itemWriter = mapper.writerFor(ItemDto.class);
+        bookings = Fixtures.bookingDtos(size);
+        items = Fixtures.itemDtos(size, 3);
+        buffer = new ByteArrayOutputStream(1 << 20);
+    }
+
+    @Benchmark
+    public byte[] bookingsToBytes() throws IOException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public int bookingsReusedWriter() throws IOException {
+        buffer.reset();
+        bookingsWriter.writeValue(buffer, bookings);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int bookingsGenerator() throws IOException {
+        return stream(bookingWriter, bookings);
+    }
+
+    @Benchmark
+    public byte[] itemsToBytes() throws IOException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public int itemsReusedWriter() throws IOException {
+        buffer.reset();
+        itemsWriter.writeValue(buffer, items);
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int itemsGenerator() throws IOException {
+        return stream(itemWriter, items);
+    }
+
+    private int stream(ObjectWriter elementWriter, List<?> elements) throws IOException {
+        buffer.reset();
+        try (JsonGenerator generator = elementWriter.createGenerator(buffer)) {
+            generator.writeStartArray();
+            for (Object element : elements) {
+                elementWriter.writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        }
+        return buffer.size();
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private Booking booking;
+    private Item item;
+    private ItemRequest request;
+    private List<BookingOutDto> bookingDtos;
+    private List<ItemDto> itemDtos;
+    private ItemRequestDto requestDto;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        booking = Fixtures.bookings(1).get(0);
+        item = Fixtures.item(1, Fixtures.user(1));
+        request = Fixtures.request(1, size);
+        bookingDtos = Fixtures.bookingDtos(size);
+        itemDtos = Fixtures.itemDtos(size, 3);
+        requestDto = ItemRequestMapper.toRequestDto(request);
+        objectMapper = Fixtures.jsonMapper();
+    }
+
+    @Benchmark
+    public BookingOutDto toBookingOutDto() {
+        return BookingMapper.toBookingOutDto(booking);
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public ItemRequestDto toRequestDto() {
+        return ItemRequestMapper.toRequestDto(request);
+    }
+
+    @Benchmark
+    public byte[] serializeBookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeItems() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeRequest() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(requestDto);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths against an in-memory H2 database seeded with {@code items} items spread over owners of
+ * ten items each, two bookings and one comment per item.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+    private static final int ITEMS_PER_OWNER = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private ItemService itemService;
+    private long ownerId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("test")
+                .properties("spring.config.additional-location=classpath:benchmarks.properties")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        ownerId = 1;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingOutDto> getAllByOwner() {
+        return bookingService.getAllByOwner(ownerId, ru.practicum.shareit.booking.model.State.ALL, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> getUserItems() {
+        return itemService.getUserItems(ownerId, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItem() {
+        return itemService.searchItem(ownerId, "drill", 0, PAGE_SIZE);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        int owners = Math.max(1, items / ITEMS_PER_OWNER);
+        int bookers = owners;
+        Timestamp now = Timestamp.valueOf(Fixtures.NOW);
+
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= owners + bookers; i++) {
+            users.add(new Object[]{i, "User " + i, "user" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 1; i <= items; i++) {
+            String description = (i % 5 == 0 ? "Cordless drill " : "Garden tool ") + i;
+            itemRows.add(new Object[]{i, "Item " + i, description, true, (i - 1) / ITEMS_PER_OWNER + 1});
+        }
+        jdbcTemplate.batchUpdate("insert into items (id, name, description, is_available, owner_id) "
+                + "values (?, ?, ?, ?, ?)", itemRows);
+
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        for (int i = 1; i <= items; i++) {
+            int booker = owners + (i % bookers) + 1;
+            bookings.add(new Object[]{i, booker, Timestamp.valueOf(Fixtures.NOW.minusDays(2)),
+                    Timestamp.valueOf(Fixtures.NOW.minusDays(1)), "APPROVED"});
+            bookings.add(new Object[]{i, booker, Timestamp.valueOf(Fixtures.NOW.plusDays(1)),
+                    Timestamp.valueOf(Fixtures.NOW.plusDays(2)), "WAITING"});
+            comments.add(new Object[]{"Worked great", i, booker, now});
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (item_id, booker_id, start_date, end_date, status) "
+                + "values (?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("insert into comments (text, item_id, author_id, created) values (?, ?, ?, ?)",
+                comments);
+        jdbcTemplate.execute("alter table users alter column id restart with " + (owners + bookers + 1));
+        jdbcTemplate.execute("alter table items alter column id restart with " + (items + 1));
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against Smile on the gateway-server hop for the two heaviest list responses. Payload sizes are printed
+ * once per trial, since JMH only records times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+    private static final TypeReference<List<BookingOutDto>> BOOKINGS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<ItemDto>> ITEMS = new TypeReference<>() {
+    };
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<BookingOutDto> bookings;
+    private List<ItemDto> items;
+    private byte[] bookingsPayload;
+    private byte[] itemsPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "smile".equals(format) ? Fixtures.smileMapper() : Fixtures.jsonMapper();
+        bookings = Fixtures.bookingDtos(size);
+        items = Fixtures.itemDtos(size, 3);
+        bookingsPayload = mapper.writeValueAsBytes(bookings);
+        itemsPayload = mapper.writeValueAsBytes(items);
+        System.out.printf("%n%s payload for %d elements: bookings %d bytes, items %d bytes%n",
+                format, size, bookingsPayload.length, itemsPayload.length);
+    }
+
+    @Benchmark
+    public byte[] writeBookings() throws IOException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public List<BookingOutDto> readBookings() throws IOException {
+        return mapper.readValue(bookingsPayload, BOOKINGS);
+    }
+
+    @Benchmark
+    public byte[] writeItems() throws IOException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public List<ItemDto> readItems() throws IOException {
+        return mapper.readValue(itemsPayload, ITEMS);
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+/**
+ * Loads rows with batched {@code INSERT}s, committing after every batch. Used for databases without
+ * {@code COPY}, such as the H2 database of the test profile.
+ */
+class BatchTableWriter implements TableWriter {
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final int batchSize;
+    private long rows;
+
+    BatchTableWriter(Connection connection, int batchSize, String table, String... columns) throws SQLException {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        connection.setAutoCommit(false);
+        this.statement = connection.prepareStatement("insert into " + table + " (" + String.join(", ", columns)
+                + ") values (" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")");
+    }
+
+    @Override
+    public void row(Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value instanceof LocalDateTime) {
+                value = Timestamp.valueOf((LocalDateTime) value);
+            }
+            statement.setObject(i + 1, value);
+        }
+        statement.addBatch();
+        if (++rows % batchSize == 0) {
+            statement.executeBatch();
+            connection.commit();
+        }
+    }
+
+    @Override
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            statement.executeBatch();
+            connection.commit();
+        } finally {
+            statement.close();
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.datagen;
+
+import org.flywaydb.core.Flyway;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DataGen {
+    private static final List<String> TABLES = List.of("users", "requests", "items", "bookings", "comments");
+
+    private final DataGenOptions options;
+    private final boolean postgres;
+
+    DataGen(DataGenOptions options) {
+        this.options = options;
+        this.postgres = options.getUrl().startsWith("jdbc:postgresql:");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DataGen(DataGenOptions.parse(args)).run();
+    }
+
+    void run() throws Exception {
+        Scale scale = Scale.of(options.getBookings());
+        System.out.printf("Generating %s with seed %d using %s%n", scale, options.getSeed(),
+                postgres ? "COPY" : "batched inserts");
+        long started = System.nanoTime();
+        if (options.isInitSchema()) {
+            recreateSchema();
+        } else {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                if (postgres) {
+                    statement.execute("truncate table " + String.join(", ", TABLES) + " restart identity cascade");
+                } else {
+                    for (int i = TABLES.size() - 1; i >= 0; i--) {
+                        statement.execute("delete from " + TABLES.get(i));
+                    }
+                }
+            }
+        }
+
+        DataGenerator generator = new DataGenerator(scale, options.getSeed());
+        long start = System.nanoTime();
+        try (TableWriter users = open("users", "id", "name", "email", "deleted")) {
+            generator.users(users);
+            report("users", users, start);
+        }
+        start = System.nanoTime();
+        try (TableWriter requests = open("requests", "id", "description", "requester_id", "created")) {
+            generator.requests(requests);
+            report("requests", requests, start);
+        }
+        start = System.nanoTime();
+        try (TableWriter items = open("items", "id", "name", "description", "is_available", "owner_id",
+                "request_id", "deleted")) {
+            generator.items(items);
+            report("items", items, start);
+        }
+        start = System.nanoTime();
+        try (TableWriter bookings = open("bookings", "id", "start_date", "end_date", "item_id", "booker_id",
+                "status");
+             TableWriter comments = open("comments", "id", "text", "item_id", "author_id", "created")) {
+            generator.bookings(bookings, comments);
+            report("bookings", bookings, start);
+            report("comments", comments, start);
+        }
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                if (postgres) {
+                    statement.execute("select setval(pg_get_serial_sequence('" + table + "', 'id'), "
+                            + "(select coalesce(max(id), 0) + 1 from " + table + "), false)");
+                } else {
+                    statement.execute("alter table " + table + " alter column id restart with "
+                            + "(select coalesce(max(id), 0) + 1 from " + table + ")");
+                }
+            }
+            if (postgres) {
+                statement.execute("analyze");
+            }
+        }
+        System.out.printf("Done in %.1f s%n", (System.nanoTime() - started) / 1e9);
+    }
+
+    /**
+     * Drops everything and applies the server's migrations, so the schema and its history table match what the
+     * server expects on its next start.
+     */
+    private void recreateSchema() {
+        Path migrations = options.getMigrations();
+        List<String> locations = new ArrayList<>(List.of("filesystem:" + migrations.resolve("common")));
+        if (postgres) {
+            locations.add("filesystem:" + migrations.resolve("postgresql"));
+        } else if (options.getUrl().startsWith("jdbc:h2:")) {
+            locations.add("filesystem:" + migrations.resolve("h2"));
+        }
+        Flyway flyway = Flyway.configure()
+                .dataSource(options.getUrl(), options.getUsername(), options.getPassword())
+                .locations(locations.toArray(String[]::new))
+                .cleanDisabled(false)
+                .load();
+        flyway.clean();
+        flyway.migrate();
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(options.getUrl(), options.getUsername(), options.getPassword());
+    }
+
+    private TableWriter open(String table, String... columns) throws SQLException {
+        Connection connection = connect();
+        try {
+            return postgres ? new CopyTableWriter(connection, table, columns)
+                    : new BatchTableWriter(connection, options.getBatchSize(), table, columns);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private static void report(String table, TableWriter writer, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("  %-9s %,12d rows  %7.1f s  %,10.0f rows/s%n", table, writer.getRows(), seconds,
+                writer.getRows() / seconds);
+    }
+}
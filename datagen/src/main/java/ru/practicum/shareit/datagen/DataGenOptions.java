@@ -0,0 +1,71 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Command line options, given as {@code --name=value}.
+ */
+@Value
+@Builder
+public class DataGenOptions {
+    @Builder.Default
+    String url = "jdbc:postgresql://localhost:6541/shareit?reWriteBatchedInserts=true";
+    @Builder.Default
+    String username = "root";
+    @Builder.Default
+    String password = "root";
+    @Builder.Default
+    long bookings = 100_000;
+    @Builder.Default
+    long seed = 42;
+    @Builder.Default
+    int batchSize = 5_000;
+    @Builder.Default
+    boolean initSchema = true;
+    @Builder.Default
+    Path migrations = Path.of("server/src/main/resources/db/migration");
+
+    public static DataGenOptions parse(String[] args) {
+        DataGenOptionsBuilder builder = builder();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "url":
+                    builder.url(value);
+                    break;
+                case "username":
+                    builder.username(value);
+                    break;
+                case "password":
+                    builder.password(value);
+                    break;
+                case "bookings":
+                    builder.bookings((long) Double.parseDouble(value));
+                    break;
+                case "seed":
+                    builder.seed(Long.parseLong(value));
+                    break;
+                case "batch-size":
+                    builder.batchSize(Integer.parseInt(value));
+                    break;
+                case "init-schema":
+                    builder.initSchema(Boolean.parseBoolean(value));
+                    break;
+                case "migrations":
+                    builder.migrations(Path.of(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.datagen;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/**
+ * Generates every table from its own random stream derived from the seed, so a table's rows depend only on the
+ * seed, the scale and the day the generator runs (booking times are relative to today's midnight).
+ * Ids are assigned explicitly from 1.
+ */
+class DataGenerator {
+    private static final String[] PAST_STATUSES = {"APPROVED", "REJECTED", "CANCELED", "WAITING"};
+    private static final int[] PAST_WEIGHTS = {80, 10, 7, 3};
+    private static final String[] FUTURE_STATUSES = {"WAITING", "APPROVED", "REJECTED", "CANCELED"};
+    private static final int[] FUTURE_WEIGHTS = {45, 45, 5, 5};
+    private static final double COMMENT_PROBABILITY = 0.25;
+
+    private final Scale scale;
+    private final long seed;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+    private long[] itemOwners;
+
+    DataGenerator(Scale scale, long seed) {
+        this.scale = scale;
+        this.seed = seed;
+    }
+
+    void users(TableWriter writer) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        for (long id = 1; id <= scale.getUsers(); id++) {
+            writer.row(id, Vocabulary.userName(random, id), "user" + id + "@example.com", false);
+        }
+    }
+
+    void requests(TableWriter writer) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        for (long id = 1; id <= scale.getRequests(); id++) {
+            writer.row(id, Vocabulary.request(random), 1 + random.nextLong(scale.getUsers()),
+                    now.minusMinutes(random.nextLong(365L * 24 * 60)));
+        }
+    }
+
+    void items(TableWriter writer) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        itemOwners = new long[(int) scale.getItems()];
+        for (long id = 1; id <= scale.getItems(); id++) {
+            long owner = 1 + skewed(random, scale.getUsers(), 1.5);
+            itemOwners[(int) id - 1] = owner;
+            String name = Vocabulary.itemName(random);
+            Long requestId = random.nextInt(5) == 0 ? 1 + random.nextLong(scale.getRequests()) : null;
+            writer.row(id, name, Vocabulary.description(random, name), random.nextInt(10) != 0, owner, requestId,
+                    false);
+        }
+    }
+
+    /**
+     * Bookings go mostly to popular items; 85% are in the past (ages falling off over two years), 5% are in
+     * progress and 10% are up to three months ahead. Durations are a few hours to a month, mostly two days.
+     * A quarter of approved past bookings get a comment from the booker after the booking ends.
+     */
+    void bookings(TableWriter bookings, TableWriter comments) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed + 3);
+        SplittableRandom commentRandom = new SplittableRandom(seed + 4);
+        long commentId = 1;
+        for (long id = 1; id <= scale.getBookings(); id++) {
+            long item = 1 + skewed(random, scale.getItems(), 2);
+            long owner = itemOwners[(int) item - 1];
+            long booker = 1 + random.nextLong(scale.getUsers() - 1);
+            if (booker >= owner) {
+                booker++;
+            }
+            long durationMinutes = 4 * 60 + Math.min((long) (-Math.log(1 - random.nextDouble()) * 48 * 60),
+                    30L * 24 * 60);
+            double phase = random.nextDouble();
+            LocalDateTime start;
+            String status;
+            if (phase < 0.85) {
+                long ageMinutes = Math.min((long) (-Math.log(1 - random.nextDouble()) * 120 * 24 * 60),
+                        730L * 24 * 60);
+                start = now.minusMinutes(ageMinutes + durationMinutes);
+                status = weighted(random, PAST_STATUSES, PAST_WEIGHTS);
+            } else if (phase < 0.90) {
+                start = now.minusMinutes(random.nextLong(durationMinutes));
+                status = random.nextInt(20) == 0 ? "WAITING" : "APPROVED";
+            } else {
+                start = now.plusMinutes(1 + random.nextLong(90L * 24 * 60));
+                status = weighted(random, FUTURE_STATUSES, FUTURE_WEIGHTS);
+            }
+            LocalDateTime end = start.plusMinutes(durationMinutes);
+            bookings.row(id, start, end, item, booker, status);
+
+            if ("APPROVED".equals(status) && end.isBefore(now)
+                    && commentRandom.nextDouble() < COMMENT_PROBABILITY) {
+                LocalDateTime created = end.plusMinutes(commentRandom.nextLong(72 * 60));
+                comments.row(commentId++, Vocabulary.comment(commentRandom), item, booker,
+                        created.isBefore(now) ? created : now);
+            }
+        }
+    }
+
+    private static long skewed(SplittableRandom random, long size, double exponent) {
+        return Math.min(size - 1, (long) (Math.pow(random.nextDouble(), exponent) * size));
+    }
+
+    private static String weighted(SplittableRandom random, String[] values, int[] weights) {
+        int pick = random.nextInt(100);
+        for (int i = 0; i < values.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.datagen;
+
+import lombok.Value;
+
+/**
+ * Row counts derived from the booking count: twenty bookings per user, ten per item, a request for every
+ * fourth user and a comment on roughly a fifth of the bookings.
+ */
+@Value
+public class Scale {
+    long users;
+    long requests;
+    long items;
+    long bookings;
+
+    public static Scale of(long bookings) {
+        long users = Math.max(10, bookings / 20);
+        return new Scale(users, Math.max(1, users / 4), Math.max(10, bookings / 10), bookings);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.datagen;
+
+import java.sql.SQLException;
+
+/**
+ * Streams generated rows into one table. Values are {@code Long}, {@code String}, {@code Boolean},
+ * {@code LocalDateTime} or {@code null}, in the column order given when the writer was opened.
+ */
+interface TableWriter extends AutoCloseable {
+    void row(Object... values) throws SQLException;
+
+    long getRows();
+
+    @Override
+    void close() throws SQLException;
+}
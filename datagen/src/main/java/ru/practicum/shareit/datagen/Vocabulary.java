@@ -0,0 +1,60 @@
+package ru.practicum.shareit.datagen;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Word lists for item names, descriptions, requests and comments, in the Russian and English mix the postman
+ * collection uses. Items draw their noun with a skew so some searches match far more rows than others.
+ */
+final class Vocabulary {
+    private static final List<String> NOUNS = List.of("Дрель", "Отвертка", "Перфоратор", "Лестница",
+            "Пила", "Шуруповерт", "Болгарка", "Палатка", "Велосипед", "Самокат", "Drill", "Saw", "Ladder",
+            "Tent", "Kayak", "Projector", "Camera", "Lawn mower", "Pressure washer", "Sewing machine");
+    private static final List<String> ADJECTIVES = List.of("аккумуляторная", "ударная", "профессиональная",
+            "компактная", "складная", "новая", "cordless", "heavy duty", "portable", "folding", "electric", "vintage");
+    private static final List<String> DETAILS = List.of("в отличном состоянии", "с запасным аккумулятором",
+            "в кейсе", "почти не использовалась", "with charger", "with carry bag", "two batteries included",
+            "recently serviced", "minor scratches", "ideal for weekend projects");
+    private static final List<String> NAMES = List.of("Иван", "Мария", "Алексей", "Ольга", "Дмитрий", "Анна",
+            "Sergey", "Elena", "John", "Kate", "Pavel", "Nina");
+    private static final List<String> COMMENTS = List.of("Всё отлично, спасибо!", "Работает как надо",
+            "Немного шумная, но справилась", "Great tool, would rent again", "Owner was very helpful",
+            "Battery lasted all day", "Arrived late but worked fine");
+
+    private Vocabulary() {
+    }
+
+    static String userName(SplittableRandom random, long id) {
+        return pick(random, NAMES) + " " + id;
+    }
+
+    static String itemName(SplittableRandom random) {
+        return capitalize(pick(random, ADJECTIVES)) + " " + skewed(random, NOUNS).toLowerCase();
+    }
+
+    static String description(SplittableRandom random, String name) {
+        return name + ", " + pick(random, DETAILS) + ", " + pick(random, DETAILS);
+    }
+
+    static String request(SplittableRandom random) {
+        return "Нужна " + skewed(random, NOUNS).toLowerCase() + " " + pick(random, DETAILS);
+    }
+
+    static String comment(SplittableRandom random) {
+        return pick(random, COMMENTS);
+    }
+
+    private static String pick(SplittableRandom random, List<String> words) {
+        return words.get(random.nextInt(words.size()));
+    }
+
+    private static String skewed(SplittableRandom random, List<String> words) {
+        double u = random.nextDouble();
+        return words.get((int) (u * u * words.size()));
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,3 @@
+#!/bin/sh
+# lets the db-replica service stream WAL from this database
+echo "host replication all all $(postgres -C password_encryption)" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,12 @@
+#!/bin/sh
+# clones the db service on first start and then follows it as a read-only hot standby
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup --host=db --username="$POSTGRES_USER" --pgdata="$PGDATA" --wal-method=stream \
+      --write-recovery-conf; do
+    echo "waiting for db to accept replication connections"
+    sleep 1
+  done
+  chmod 0700 "$PGDATA"
+fi
+exec postgres
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(path = "/batch")
+@Validated
+public class BatchController {
+    public static final String USER_ID_FROM_HEADER = "X-Sharer-User-Id";
+    private final BatchService batchService;
+
+    @PostMapping
+    public List<BatchResponseDto> execute(@RequestHeader(value = USER_ID_FROM_HEADER, required = false) Long userId,
+                                          @RequestBody @NotEmpty List<@Valid BatchRequestDto> requests) {
+        return batchService.execute(userId, requests);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.batch")
+public class BatchProperties {
+    private int maxRequests = 20;
+    private int threads = 16;
+    private int queueCapacity = 200;
+    private Duration timeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,163 @@
+package ru.practicum.shareit.batch;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.RequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps a batched GET path onto the clients in-process, with the same parameter checks as the controllers.
+ * Only the routes registered here can be batched; any other path, dot segments included, is answered with 404.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class BatchRouter {
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+
+    BatchRouter(UserClient userClient, ItemClient itemClient, BookingClient bookingClient,
+                RequestClient requestClient) {
+        routes.put("/users/{id:\\d+}", (userId, path, query) -> userClient.getById(id(path)));
+        routes.put("/users", (userId, path, query) -> {
+            Integer size = intParam(query, "size", null, 1, 1000);
+            return size == null ? userClient.getAll()
+                    : userClient.getAll(longParam(query, "after", 0L, 0, Long.MAX_VALUE), size);
+        });
+        routes.put("/items/search", (userId, path, query) -> itemClient.searchItem(user(userId),
+                requiredParam(query, "text"), intParam(query, "from", 0, 0), intParam(query, "size", 10, 1)));
+        routes.put("/items/{id:\\d+}", (userId, path, query) -> itemClient.getById(id(path), user(userId)));
+        routes.put("/items", (userId, path, query) -> itemClient.getAllByUserId(user(userId),
+                intParam(query, "from", 0, 0), intParam(query, "size", 10, 1)));
+        routes.put("/bookings/owner", (userId, path, query) -> bookingClient.getAllByOwner(user(userId),
+                state(query), intParam(query, "from", 0, 0), intParam(query, "size", 10, 1)));
+        routes.put("/bookings/{id:\\d+}", (userId, path, query) -> bookingClient.getBooking(user(userId), id(path)));
+        routes.put("/bookings", (userId, path, query) -> bookingClient.getBookings(user(userId),
+                state(query), intParam(query, "from", 0, 0), intParam(query, "size", 10, 1)));
+        routes.put("/requests/all", (userId, path, query) -> requestClient.getAllRequests(user(userId),
+                intParam(query, "from", 0, 0), intParam(query, "size", 10, 1)));
+        routes.put("/requests/{id:\\d+}", (userId, path, query) ->
+                requestClient.getRequestById(user(userId), id(path)));
+        routes.put("/requests", (userId, path, query) -> requestClient.getAllUserRequests(user(userId)));
+    }
+
+    ResponseEntity<Object> dispatch(Long userId, String target) {
+        UriComponents uri;
+        try {
+            uri = UriComponentsBuilder.fromUriString(target).build(true);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid path");
+        }
+        String path = uri.getPath();
+        if (uri.getScheme() != null || uri.getHost() != null || path == null || !path.startsWith("/")) {
+            throw new BadRequestException("Invalid path");
+        }
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        for (Map.Entry<String, Route> route : routes.entrySet()) {
+            if (matcher.match(route.getKey(), path)) {
+                Map<String, String> variables = matcher.extractUriTemplateVariables(route.getKey(), path);
+                return route.getValue().dispatch(userId, variables, decode(uri.getQueryParams()));
+            }
+        }
+        throw new NotFoundException("Path cannot be batched: " + path);
+    }
+
+    private static MultiValueMap<String, String> decode(MultiValueMap<String, String> encoded) {
+        MultiValueMap<String, String> decoded = new LinkedMultiValueMap<>();
+        encoded.forEach((name, values) -> values.forEach(value -> decoded.add(
+                UriUtils.decode(name, StandardCharsets.UTF_8),
+                value != null ? UriUtils.decode(value, StandardCharsets.UTF_8) : "")));
+        return decoded;
+    }
+
+    private static long user(Long userId) {
+        if (userId == null) {
+            throw new BadRequestException("Missing header " + BatchController.USER_ID_FROM_HEADER);
+        }
+        return userId;
+    }
+
+    private static long id(Map<String, String> variables) {
+        try {
+            return Long.parseLong(variables.get("id"));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid id: " + variables.get("id"));
+        }
+    }
+
+    private static State state(MultiValueMap<String, String> query) {
+        String state = query.getFirst("state");
+        if (state == null) {
+            return State.ALL;
+        }
+        State bookingState = State.from(state);
+        if (bookingState == null) {
+            throw new BadRequestException("Unknown state: " + state);
+        }
+        return bookingState;
+    }
+
+    private static String requiredParam(MultiValueMap<String, String> query, String name) {
+        String value = query.getFirst(name);
+        if (value == null) {
+            throw new BadRequestException("Missing parameter " + name);
+        }
+        return value;
+    }
+
+    private static Integer intParam(MultiValueMap<String, String> query, String name, Integer defaultValue, int min) {
+        return intParam(query, name, defaultValue, min, Integer.MAX_VALUE);
+    }
+
+    private static Integer intParam(MultiValueMap<String, String> query, String name, Integer defaultValue, int min,
+                                    int max) {
+        Long value = longParam(query, name, defaultValue != null ? defaultValue.longValue() : null, min, max);
+        return value != null ? value.intValue() : null;
+    }
+
+    private static Long longParam(MultiValueMap<String, String> query, String name, Long defaultValue, long min,
+                                  long max) {
+        List<String> values = query.get(name);
+        if (values == null || values.isEmpty() || values.get(0).isEmpty()) {
+            return defaultValue;
+        }
+        long value;
+        try {
+            value = Long.parseLong(values.get(0));
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid parameter " + name);
+        }
+        if (value < min) {
+            throw new BadRequestException(name + " must be greater than or equal to " + min);
+        }
+        if (value > max) {
+            throw new BadRequestException(name + " must be less than or equal to " + max);
+        }
+        return value;
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        ResponseEntity<Object> dispatch(Long userId, Map<String, String> variables,
+                                        MultiValueMap<String, String> query);
+    }
+}
@@ -0,0 +1,176 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.TextNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import ru.practicum.shareit.batch.dto.BatchRequestDto;
+import ru.practicum.shareit.batch.dto.BatchResponseDto;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ErrorResponse;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.TraceContext;
+import ru.practicum.shareit.tracing.Tracer;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Runs batch sub-requests in parallel on a pool of its own, dispatching each one to the clients in-process.
+ * Sub-requests share the gateway's caching, coalescing and upstream resilience, but are rate limited once as part
+ * of the batch and never occupy a second servlet thread. Each one gets what is left of the batch budget as its
+ * deadline.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(BatchProperties.class)
+public class BatchService {
+    private final BatchRouter router;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader jsonReader;
+    private final Tracer tracer;
+    private final BatchProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    public BatchService(BatchRouter router, ObjectMapper objectMapper, ObjectProvider<Tracer> tracer,
+                        BatchProperties properties) {
+        this.router = router;
+        this.objectMapper = objectMapper;
+        this.jsonReader = objectMapper.reader().with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.tracer = tracer.getIfAvailable();
+        this.properties = properties;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getThreads(), properties.getThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> new Thread(runnable, "batch-" + threadNumber.incrementAndGet()));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public List<BatchResponseDto> execute(Long userId, List<BatchRequestDto> requests) {
+        if (requests.size() > properties.getMaxRequests()) {
+            throw new BadRequestException("A batch may contain at most " + properties.getMaxRequests() + " requests");
+        }
+
+        long budget = properties.getTimeout().toNanos();
+        RequestDeadline requestDeadline = RequestDeadline.current();
+        if (requestDeadline != null) {
+            budget = Math.min(budget, TimeUnit.MILLISECONDS.toNanos(requestDeadline.remainingMillis()));
+        }
+        long deadline = System.nanoTime() + budget;
+        Span span = Tracer.current();
+        TraceContext trace = span != null ? span.context() : null;
+        List<CompletableFuture<BatchResponseDto>> futures = requests.stream()
+                .map(request -> submit(userId, request, deadline, trace))
+                .collect(Collectors.toList());
+
+        return IntStream.range(0, requests.size())
+                .mapToObj(i -> await(futures.get(i), requests.get(i), deadline))
+                .collect(Collectors.toList());
+    }
+
+    private CompletableFuture<BatchResponseDto> submit(Long userId, BatchRequestDto request, long deadline,
+                                                       TraceContext trace) {
+        if (!HttpMethod.GET.name().equalsIgnoreCase(request.getMethod())) {
+            return CompletableFuture.completedFuture(
+                    error(request, HttpStatus.METHOD_NOT_ALLOWED, "Only GET requests can be batched"));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> send(userId, request, deadline, trace), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(
+                    error(request, HttpStatus.SERVICE_UNAVAILABLE, "Batch executor is saturated"));
+        }
+    }
+
+    private BatchResponseDto await(CompletableFuture<BatchResponseDto> future, BatchRequestDto request,
+                                   long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return error(request, HttpStatus.GATEWAY_TIMEOUT, "Request timed out");
+        } catch (ExecutionException e) {
+            log.warn("Batch request {} failed", request.getPath(), e.getCause());
+            return error(request, HttpStatus.BAD_GATEWAY, "Request failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(request, HttpStatus.SERVICE_UNAVAILABLE, "Request was interrupted");
+        }
+    }
+
+    private BatchResponseDto send(Long userId, BatchRequestDto request, long deadline, TraceContext trace) {
+        Span span = tracer != null ? tracer.start("batch GET " + request.getPath().split("\\?", 2)[0], trace) : null;
+        try {
+            long budgetMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            ResponseEntity<Object> response = RequestDeadline.within(budgetMillis,
+                    () -> router.dispatch(userId, request.getPath()));
+            if (span != null) {
+                span.attribute("http.status", response.getStatusCodeValue());
+            }
+            return new BatchResponseDto(request.getId(), response.getStatusCodeValue(), body(response));
+        } catch (BadRequestException e) {
+            return error(request, HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (NotFoundException e) {
+            return error(request, HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (RestClientException e) {
+            log.warn("Batch request {} failed: {}", request.getPath(), e.getMessage());
+            return error(request, HttpStatus.BAD_GATEWAY, "Request failed");
+        } finally {
+            if (span != null) {
+                tracer.end(span);
+            }
+        }
+    }
+
+    /**
+     * Embeds the upstream body as a parsed tree, so that a malformed or non-JSON answer cannot break the batch
+     * response; anything that does not parse is passed on as a string.
+     */
+    private JsonNode body(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        if (!(body instanceof byte[]) || ((byte[]) body).length == 0) {
+            return null;
+        }
+        byte[] bytes = (byte[]) body;
+        try {
+            return jsonReader.readTree(bytes);
+        } catch (IOException e) {
+            return TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private BatchResponseDto error(BatchRequestDto request, HttpStatus status, String message) {
+        JsonNode body = objectMapper.valueToTree(new ErrorResponse(message));
+        return new BatchResponseDto(request.getId(), status.value(), body);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.batch.dto;
+
+import lombok.*;
+
+import javax.validation.constraints.NotBlank;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BatchRequestDto {
+    private String id;
+    private String method = "GET";
+    @NotBlank
+    private String path;
+}
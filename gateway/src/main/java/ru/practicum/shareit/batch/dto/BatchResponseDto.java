@@ -0,0 +1,13 @@
+package ru.practicum.shareit.batch.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BatchResponseDto {
+    private String id;
+    private int status;
+    private JsonNode body;
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.validation.Create;
+import ru.practicum.shareit.booking.dto.BookingInDto;
+
+import javax.validation.constraints.Min;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/bookings")
+@Validated
+public class ReactiveBookingController {
+    public static final String USER_ID_FROM_HEADER = "X-Sharer-User-Id";
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                                 @Validated({Create.class}) @RequestBody BookingInDto bookingInDto) {
+        return bookingClient.create(userId, bookingInDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveOrReject(@RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                                                    @RequestParam Boolean approved,
+                                                    @PathVariable Long bookingId) {
+        return bookingClient.approveOrReject(userId, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                                 @PathVariable Long bookingId) {
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(
+            @RequestHeader(USER_ID_FROM_HEADER) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
+
+        State bookingState = State.from(state);
+        if (bookingState == null) {
+            throw new BadRequestException("Unknown state: " + state);
+        }
+        return bookingClient.getBookings(userId, bookingState, from, size);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllByOwner(
+            @RequestHeader(USER_ID_FROM_HEADER) Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
+
+        State bookingState = State.from(state);
+        if (bookingState == null) {
+            throw new BadRequestException("Unknown state: " + state);
+        }
+        return bookingClient.getAllByOwner(userId, bookingState, from, size);
+    }
+}
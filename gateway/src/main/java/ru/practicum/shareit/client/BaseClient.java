@@ -1,22 +1,45 @@
 package ru.practicum.shareit.client;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPInputStream;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.deadline.RequestDeadline;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
 
 public class BaseClient {
+    private static final String SERVER_TIMING = "Server-Timing";
+    private static final String PRIMARY_UNTIL = "X-Primary-Until";
+    private static final String PRIMARY_UNTIL_COOKIE = "shareit-primary-until";
+
     protected final RestTemplate rest;
+    private final RequestCoalescer coalescer;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, RequestCoalescer coalescer) {
         this.rest = rest;
+        this.coalescer = coalescer;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -79,20 +102,38 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    protected void stream(String path, @Nullable Map<String, Object> parameters, MediaType mediaType, OutputStream out) {
+        rest.execute(path, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(mediaType)),
+                response -> StreamUtils.copy(response.getBody(), out),
+                parameters != null ? parameters : Map.of());
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        ResponseEntity<byte[]> upstream;
+        if (method == HttpMethod.GET && primaryUntil() == null) {
+            URI uri = parameters != null
+                    ? rest.getUriTemplateHandler().expand(path, parameters)
+                    : rest.getUriTemplateHandler().expand(path);
+            upstream = coalescer.get(uri, userId, () -> sendRequest(method, path, userId, parameters, body));
+        } else {
+            upstream = sendRequest(method, path, userId, parameters, body);
+        }
+        return prepareGatewayResponse(upstream.getStatusCode(), upstream.getHeaders(), upstream.getBody());
+    }
+
+    private <T> ResponseEntity<byte[]> sendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
-        ResponseEntity<Object> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                return rest.exchange(path, method, requestEntity, byte[].class, parameters);
             }
+            return rest.exchange(path, method, requestEntity, byte[].class);
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            HttpHeaders headers = e.getResponseHeaders() != null ? e.getResponseHeaders() : new HttpHeaders();
+            return new ResponseEntity<>(e.getResponseBodyAsByteArray(), headers, e.getStatusCode());
         }
-        return prepareGatewayResponse(shareitServerResponse);
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -102,20 +143,135 @@ public class BaseClient {
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
+        String primaryUntil = primaryUntil();
+        if (primaryUntil != null) {
+            headers.set(PRIMARY_UNTIL, primaryUntil);
+        }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private static ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                                 @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (headers != null && headers.getContentType() != null) {
+            responseBuilder.contentType(headers.getContentType());
+        }
+        serverTiming(headers, responseBuilder);
+        primaryUntilCookie(headers, responseBuilder);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            if (headers != null && GzipInterceptor.GZIP.equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING))) {
+                responseBuilder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (!clientAcceptsGzip()) {
+                    return responseBuilder.body(gunzip(body));
+                }
+                responseBuilder.header(HttpHeaders.CONTENT_ENCODING, GzipInterceptor.GZIP);
+            }
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
+
+    private static void serverTiming(@Nullable HttpHeaders headers, ResponseEntity.BodyBuilder responseBuilder) {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return;
+        }
+        String upstream = String.format(Locale.ROOT, "upstream;dur=%.1f", deadline.upstreamNanos() / 1e6);
+        String server = headers != null ? headers.getFirst(SERVER_TIMING) : null;
+        responseBuilder.header(SERVER_TIMING, server != null ? server + ", " + upstream : upstream);
+    }
+
+    /**
+     * Hands the server's read-your-writes marker to the client as a cookie, so that its next reads carry it to
+     * whichever server instance they reach, through whichever gateway instance.
+     */
+    private static void primaryUntilCookie(@Nullable HttpHeaders headers, ResponseEntity.BodyBuilder responseBuilder) {
+        String primaryUntil = headers != null ? headers.getFirst(PRIMARY_UNTIL) : null;
+        if (primaryUntil == null) {
+            return;
+        }
+        long remainingMillis;
+        try {
+            remainingMillis = Long.parseLong(primaryUntil) - System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(PRIMARY_UNTIL_COOKIE, primaryUntil)
+                .path("/")
+                .maxAge((Math.max(remainingMillis, 0) + 999) / 1000)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        responseBuilder.header(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    /**
+     * The read-your-writes marker the client sent back, if any. Such reads are not coalesced, because the call they
+     * would join may be served by a replica that has not seen the write yet.
+     */
+    @Nullable
+    private static String primaryUntil() {
+        HttpServletRequest request = currentRequest();
+        Cookie[] cookies = request != null ? request.getCookies() : null;
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (PRIMARY_UNTIL_COOKIE.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+    }
+
+    /**
+     * Decided for the request on the calling thread, after any coalescing, so that a shared upstream body is passed
+     * through compressed only to callers that asked for gzip. A {@code q=0} entry counts as a refusal.
+     */
+    private static boolean clientAcceptsGzip() {
+        HttpServletRequest request = currentRequest();
+        String acceptEncoding = request != null ? request.getHeader(HttpHeaders.ACCEPT_ENCODING) : null;
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(GzipInterceptor.GZIP) || name.equals("*")) {
+                return !isZeroQuality(parts);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gunzip(byte[] body) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return StreamUtils.copyToByteArray(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+class BufferedResponse implements ClientHttpResponse {
+    private final HttpStatus status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    BufferedResponse(HttpStatus status, HttpHeaders headers, byte[] body) {
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        this.status = status;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(copy);
+        this.body = body;
+    }
+
+    int length() {
+        return body.length;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return status;
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return status.value();
+    }
+
+    @Override
+    public String getStatusText() {
+        return status.getReasonPhrase();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+    }
+}
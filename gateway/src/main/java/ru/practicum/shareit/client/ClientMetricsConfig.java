@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.regex.Pattern;
+
+/**
+ * The clients build paths by concatenating ids ({@code "/" + bookingId}), so the {@code uri} tag of
+ * {@code http.client.requests} would get one value per entity. Numeric path segments are collapsed to
+ * {@code {id}} to keep the tag bounded.
+ */
+@Configuration
+public class ClientMetricsConfig {
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|\\?|$)");
+
+    @Bean
+    public MeterFilter clientUriMeterFilter() {
+        return MeterFilter.replaceTagValues("uri", uri -> NUMERIC_SEGMENT.matcher(uri).replaceAll("/{id}"));
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.deadline.DeadlineExceededException;
+import ru.practicum.shareit.deadline.RequestDeadline;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Passes the remaining request budget to the server in {@code X-Request-Timeout}, answers 504 without calling the
+ * server once the budget is spent (before the call or before any load-balancer retry) and counts the time spent
+ * waiting for the server.
+ */
+public class DeadlineInterceptor implements ClientHttpRequestInterceptor {
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return execution.execute(request, body);
+        }
+
+        long remaining = deadline.remainingMillis();
+        if (remaining <= 0) {
+            return timedOut();
+        }
+        request.getHeaders().set(RequestDeadline.TIMEOUT_HEADER, String.valueOf(remaining));
+
+        long start = System.nanoTime();
+        try {
+            return execution.execute(request, body);
+        } catch (DeadlineExceededException e) {
+            return timedOut();
+        } catch (SocketTimeoutException e) {
+            if (deadline.isExpired()) {
+                return timedOut();
+            }
+            throw e;
+        } finally {
+            deadline.addUpstreamTime(System.nanoTime() - start);
+        }
+    }
+
+    private static ClientHttpResponse timedOut() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new BufferedResponse(HttpStatus.GATEWAY_TIMEOUT, headers,
+                "{\"error\":\"Deadline exceeded\"}".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the last ETag-tagged GET response per user and URL and revalidates it with If-None-Match,
+ * so that an unchanged resource travels from the server as an empty 304. Bounded by entry count and by the summed
+ * size of the cached bodies.
+ */
+public class EtagCacheInterceptor implements ClientHttpRequestInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final Map<String, BufferedResponse> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+    private final long maxTotalBytes;
+    private final long maxEntrySize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter bytesSaved;
+    private long totalBytes;
+
+    public EtagCacheInterceptor(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.maxEntries = properties.getMaxEntries();
+        this.maxTotalBytes = properties.getMaxTotalSize().toBytes();
+        this.maxEntrySize = Math.min(properties.getMaxEntrySize().toBytes(), maxTotalBytes);
+        this.hits = meterRegistry.counter("shareit.gateway.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("shareit.gateway.cache.requests", "result", "miss");
+        this.bytesSaved = meterRegistry.counter("shareit.gateway.cache.bytes.saved");
+        Gauge.builder("shareit.gateway.cache.size", this, EtagCacheInterceptor::size).register(meterRegistry);
+        Gauge.builder("shareit.gateway.cache.bytes", this, EtagCacheInterceptor::totalBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            return execution.execute(request, body);
+        }
+
+        String key = key(request);
+        BufferedResponse cached = get(key);
+        if (cached != null) {
+            request.getHeaders().setIfNoneMatch(cached.getHeaders().getETag());
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (cached != null && response.getRawStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            response.close();
+            hits.increment();
+            bytesSaved.increment(cached.length());
+            return cached;
+        }
+
+        misses.increment();
+        String etag = response.getHeaders().getETag();
+        if (etag == null || response.getRawStatusCode() != HttpStatus.OK.value()) {
+            if (cached != null) {
+                remove(key);
+            }
+            return response;
+        }
+
+        try (response) {
+            BufferedResponse fresh = new BufferedResponse(HttpStatus.OK, response.getHeaders(),
+                    StreamUtils.copyToByteArray(response.getBody()));
+            if (fresh.length() <= maxEntrySize) {
+                put(key, fresh);
+            } else {
+                remove(key);
+            }
+            return fresh;
+        }
+    }
+
+    private synchronized BufferedResponse get(String key) {
+        return cache.get(key);
+    }
+
+    /**
+     * Evicts least recently used entries until both the entry count and the summed body size are within budget.
+     */
+    private synchronized void put(String key, BufferedResponse response) {
+        BufferedResponse previous = cache.put(key, response);
+        if (previous != null) {
+            totalBytes -= previous.length();
+        }
+        totalBytes += response.length();
+        Iterator<BufferedResponse> eldest = cache.values().iterator();
+        while ((cache.size() > maxEntries || totalBytes > maxTotalBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().length();
+            eldest.remove();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        BufferedResponse removed = cache.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.length();
+        }
+    }
+
+    private synchronized int size() {
+        return cache.size();
+    }
+
+    private synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private static String key(HttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.getFirst(USER_HEADER) + ' ' + headers.getFirst(HttpHeaders.ACCEPT) + ' ' + request.getURI();
+    }
+}
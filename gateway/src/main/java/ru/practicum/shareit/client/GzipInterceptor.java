@@ -0,0 +1,51 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asks the server for gzip. Compressed JSON is handed on as is, so {@link BaseClient} can forward it to
+ * clients that accept gzip without inflating it; other formats are inflated here for the interceptors above.
+ * Calls that ask for Smile ({@code shareit-server.wire-format=smile}, the default) are left uncompressed: Smile is
+ * already compact and is turned into JSON in the gateway anyway, so gzip would only cost CPU on both sides. Their
+ * JSON reaches clients compressed by the gateway's own {@code server.compression}.
+ */
+public class GzipInterceptor implements ClientHttpRequestInterceptor {
+    static final String GZIP = "gzip";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        List<MediaType> accept = request.getHeaders().getAccept();
+        if (accept.contains(MediaType.APPLICATION_NDJSON) || accept.contains(SmileWireFormatInterceptor.SMILE)) {
+            return execution.execute(request, body);
+        }
+        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+
+        ClientHttpResponse response = execution.execute(request, body);
+        HttpHeaders headers = response.getHeaders();
+        if (!GZIP.equalsIgnoreCase(headers.getFirst(HttpHeaders.CONTENT_ENCODING))
+                || MediaType.APPLICATION_JSON.equalsTypeAndSubtype(headers.getContentType())) {
+            return response;
+        }
+
+        try (response; GZIPInputStream inflated = new GZIPInputStream(response.getBody())) {
+            HttpHeaders inflatedHeaders = new HttpHeaders();
+            inflatedHeaders.putAll(headers);
+            inflatedHeaders.remove(HttpHeaders.CONTENT_ENCODING);
+            inflatedHeaders.remove(HttpHeaders.CONTENT_LENGTH);
+            return new BufferedResponse(HttpStatus.valueOf(response.getRawStatusCode()), inflatedHeaders,
+                    StreamUtils.copyToByteArray(inflated));
+        }
+    }
+}
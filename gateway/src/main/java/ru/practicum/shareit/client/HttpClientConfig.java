@@ -0,0 +1,185 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import ru.practicum.shareit.deadline.DeadlineExceededException;
+import ru.practicum.shareit.deadline.RequestDeadline;
+import ru.practicum.shareit.tracing.Tracer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties({HttpClientProperties.class, ResponseCacheProperties.class, CoalescingProperties.class,
+        ResilienceProperties.class})
+public class HttpClientConfig {
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager connectionManager(HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager connectionManager,
+                                          HttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig(properties))
+                .disableContentCompression()
+                .setKeepAliveStrategy(keepAliveStrategy(properties.getKeepAlive().toMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient,
+                                                             HttpClientProperties properties) {
+        RequestConfig defaultConfig = requestConfig(properties);
+        return new HttpComponentsClientHttpRequestFactory(httpClient) {
+            /**
+             * Runs once per attempt, so a load-balancer retry that starts after the budget is spent fails here
+             * instead of running under the default socket timeout.
+             */
+            @Override
+            public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+                RequestDeadline deadline = RequestDeadline.current();
+                if (deadline != null && deadline.isExpired()) {
+                    throw new DeadlineExceededException(httpMethod + " " + uri + " not sent, deadline exceeded");
+                }
+                return super.createRequest(uri, httpMethod);
+            }
+
+            @Override
+            protected HttpContext createHttpContext(HttpMethod httpMethod, URI uri) {
+                RequestDeadline deadline = RequestDeadline.current();
+                if (deadline == null) {
+                    return null;
+                }
+                long remaining = Math.max(deadline.remainingMillis(), 1);
+                if (remaining >= defaultConfig.getSocketTimeout()) {
+                    return null;
+                }
+                int timeout = (int) remaining;
+                HttpClientContext context = HttpClientContext.create();
+                context.setRequestConfig(RequestConfig.copy(defaultConfig)
+                        .setSocketTimeout(timeout)
+                        .setConnectTimeout(Math.min(defaultConfig.getConnectTimeout(), timeout))
+                        .setConnectionRequestTimeout(Math.min(defaultConfig.getConnectionRequestTimeout(), timeout))
+                        .build());
+                return context;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "shareit-server");
+    }
+
+    @Bean
+    public RequestCoalescer requestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        return new RequestCoalescer(properties, meterRegistry);
+    }
+
+    @Bean
+    @Order(-2)
+    @ConditionalOnProperty(name = "shareit.tracing.enabled", havingValue = "true", matchIfMissing = true)
+    public RestTemplateCustomizer tracingCustomizer(Tracer tracer) {
+        TracingInterceptor interceptor = new TracingInterceptor(tracer);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order(-1)
+    @ConditionalOnProperty(name = "shareit.deadline.enabled", havingValue = "true", matchIfMissing = true)
+    public RestTemplateCustomizer deadlineCustomizer() {
+        DeadlineInterceptor interceptor = new DeadlineInterceptor();
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order(0)
+    @ConditionalOnProperty(name = "shareit-server.resilience.enabled", havingValue = "true", matchIfMissing = true)
+    public RestTemplateCustomizer resilienceCustomizer(ResilienceProperties properties,
+                                                      HttpClientProperties httpProperties,
+                                                      MeterRegistry meterRegistry) {
+        ResilienceInterceptor interceptor = new ResilienceInterceptor(properties, httpProperties, meterRegistry);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order(1)
+    @ConditionalOnProperty(name = "shareit-server.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public RestTemplateCustomizer etagCacheCustomizer(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        EtagCacheInterceptor interceptor = new EtagCacheInterceptor(properties, meterRegistry);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order(2)
+    @ConditionalOnProperty(name = "shareit-server.wire-format", havingValue = "smile")
+    public RestTemplateCustomizer smileWireFormatCustomizer() {
+        SmileWireFormatInterceptor interceptor = new SmileWireFormatInterceptor();
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order(3)
+    @ConditionalOnProperty(name = "shareit-server.compression.enabled", havingValue = "true", matchIfMissing = true)
+    public RestTemplateCustomizer gzipCustomizer() {
+        GzipInterceptor interceptor = new GzipInterceptor();
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    @Bean
+    @Order
+    public RestTemplateCustomizer loadBalancingCustomizer(ServerInstances servers, LoadBalancerProperties properties,
+                                                         HttpClientProperties httpProperties,
+                                                         MeterRegistry meterRegistry) {
+        LoadBalancingInterceptor interceptor = new LoadBalancingInterceptor(servers, properties, httpProperties,
+                meterRegistry);
+        return restTemplate -> restTemplate.getInterceptors().add(interceptor);
+    }
+
+    private static RequestConfig requestConfig(HttpClientProperties properties) {
+        return RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+                .build();
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long defaultKeepAliveMillis) {
+        return (response, context) -> {
+            long keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return keepAlive > 0 ? keepAlive : defaultKeepAliveMillis;
+        };
+    }
+}
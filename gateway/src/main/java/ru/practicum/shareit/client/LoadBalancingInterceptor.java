@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import ru.practicum.shareit.deadline.DeadlineExceededException;
+import ru.practicum.shareit.deadline.RequestDeadline;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Sends each call to one of the {@link ServerInstances}. GETs that fail with an I/O error are retried on
+ * another instance while the request budget lasts; only connect-level failures that are not caused by the request's
+ * own budget or by the gateway's connection pool eject the instance. Must be the last interceptor, because it
+ * executes the request itself, possibly more than once.
+ */
+@Slf4j
+public class LoadBalancingInterceptor implements ClientHttpRequestInterceptor {
+    private final ServerInstances servers;
+    private final int maxAttempts;
+    private final long connectTimeoutMillis;
+    private final Counter retries;
+
+    public LoadBalancingInterceptor(ServerInstances servers, LoadBalancerProperties properties,
+                                    HttpClientProperties httpProperties, MeterRegistry meterRegistry) {
+        this.servers = servers;
+        this.maxAttempts = properties.getMaxAttempts();
+        this.connectTimeoutMillis = httpProperties.getConnectTimeout().toMillis();
+        this.retries = meterRegistry.counter("shareit.gateway.lb.retries");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        int attempts = request.getMethod() == HttpMethod.GET ? Math.min(maxAttempts, servers.size()) : 1;
+        Set<ServerInstances.Instance> tried = new HashSet<>();
+        IOException failure = null;
+        RequestDeadline deadline = RequestDeadline.current();
+
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            ServerInstances.Instance instance = servers.choose(tried);
+            tried.add(instance);
+            URI uri = instance.resolve(request.getURI());
+            if (attempt > 0) {
+                retries.increment();
+            }
+
+            long remaining = deadline != null ? deadline.remainingMillis() : Long.MAX_VALUE;
+            if (deadline != null) {
+                request.getHeaders().set(RequestDeadline.TIMEOUT_HEADER, String.valueOf(Math.max(remaining, 0)));
+            }
+
+            instance.start();
+            try {
+                return execution.execute(new HttpRequestWrapper(request) {
+                    @Override
+                    public URI getURI() {
+                        return uri;
+                    }
+                }, body);
+            } catch (DeadlineExceededException e) {
+                throw e;
+            } catch (IOException e) {
+                log.warn("{} {} failed: {}", request.getMethod(), uri, e.getMessage());
+                if (isConnectFailure(e, remaining >= connectTimeoutMillis)
+                        && (deadline == null || !deadline.isExpired())) {
+                    servers.eject(instance);
+                }
+                failure = e;
+            } finally {
+                instance.finish();
+            }
+            if (deadline != null && deadline.isExpired()) {
+                break;
+            }
+        }
+        throw failure;
+    }
+
+    /**
+     * Only failures to reach the instance say something about its health. A read timeout can come from one slow
+     * query or from a socket timeout cut down to a short request budget, so it must not take a server out of
+     * rotation. The same goes for a connect timeout that was shortened to the budget, and for a timeout waiting for
+     * the gateway's own connection pool, which says nothing about the server at all.
+     */
+    private static boolean isConnectFailure(IOException e, boolean fullConnectTimeout) {
+        if (e instanceof ConnectionPoolTimeoutException) {
+            return false;
+        }
+        return e instanceof ConnectException
+                || e instanceof NoRouteToHostException
+                || (e instanceof ConnectTimeoutException && fullConnectTimeout);
+    }
+}
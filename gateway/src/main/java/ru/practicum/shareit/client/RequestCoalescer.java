@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical GETs share one upstream call. Callers that arrive while a call is in flight
+ * wait for its result for at most {@code maxWait} and then fall back to a call of their own. Only the upstream
+ * exchange (status, headers and body bytes) is shared; each caller builds its own gateway response from it, since
+ * encoding and timing headers depend on the caller's request.
+ */
+public class RequestCoalescer {
+    private final Map<String, CompletableFuture<ResponseEntity<byte[]>>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long maxWaitNanos;
+    private final List<String> userAgnosticPaths;
+    private final Counter leaders;
+    private final Counter collapsed;
+    private final Counter timeouts;
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.userAgnosticPaths = List.copyOf(properties.getUserAgnosticPaths());
+        this.leaders = meterRegistry.counter("shareit.gateway.coalescing.calls", "result", "upstream");
+        this.collapsed = meterRegistry.counter("shareit.gateway.coalescing.calls", "result", "collapsed");
+        this.timeouts = meterRegistry.counter("shareit.gateway.coalescing.calls", "result", "timeout");
+        Gauge.builder("shareit.gateway.coalescing.in-flight", inFlight, Map::size).register(meterRegistry);
+    }
+
+    public ResponseEntity<byte[]> get(URI uri, Long userId, Supplier<ResponseEntity<byte[]>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        String key = key(uri, userId);
+        CompletableFuture<ResponseEntity<byte[]>> own = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<byte[]>> existing = inFlight.putIfAbsent(key, own);
+        if (existing == null) {
+            leaders.increment();
+            try {
+                ResponseEntity<byte[]> response = call.get();
+                own.complete(response);
+                return response;
+            } catch (RuntimeException e) {
+                own.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, own);
+            }
+        }
+
+        try {
+            ResponseEntity<byte[]> response = existing.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            collapsed.increment();
+            return response;
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return call.get();
+        } catch (ExecutionException e) {
+            collapsed.increment();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String key(URI uri, Long userId) {
+        String path = uri.getPath();
+        for (String prefix : userAgnosticPaths) {
+            if (path.startsWith(prefix)) {
+                return uri.toString();
+            }
+        }
+        return userId + " " + uri;
+    }
+}
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+
+import ru.practicum.shareit.deadline.DeadlineExceededException;
+import ru.practicum.shareit.deadline.RequestDeadline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gives every downstream client (named after the first path segment: items, bookings, users, requests) its own
+ * bulkhead and circuit breaker, so a slow endpoint cannot take the gateway's threads from the others.
+ * A call holds its bulkhead permission until its response is closed, so a slow body transfer still counts against
+ * {@code max-concurrent-calls}. Rejected calls get a synthetic 503 instead of waiting for the server. Timeouts caused by the caller's own budget,
+ * including 504s from the server's deadline handling, are not counted against the circuit breaker, so one client
+ * sending short {@code X-Request-Timeout} values cannot open it for everybody.
+ */
+public class ResilienceInterceptor implements ClientHttpRequestInterceptor {
+    private final ResilienceProperties properties;
+    private final long readTimeoutMillis;
+    private final BulkheadRegistry bulkheads;
+    private final CircuitBreakerRegistry circuitBreakers;
+
+    public ResilienceInterceptor(ResilienceProperties properties, HttpClientProperties httpProperties,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.readTimeoutMillis = httpProperties.getReadTimeout().toMillis();
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getMaxConcurrentCalls())
+                .maxWaitDuration(properties.getMaxWait())
+                .build());
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDuration())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String name = clientName(request.getURI().getPath());
+        Bulkhead bulkhead = bulkhead(name);
+        if (!bulkhead.tryAcquirePermission()) {
+            return unavailable("Too many concurrent calls to " + name);
+        }
+        boolean handedOff = false;
+        try {
+            CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(name);
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return unavailable("Circuit breaker for " + name + " is open");
+            }
+
+            RequestDeadline deadline = RequestDeadline.current();
+            boolean budgetShortened = deadline != null && deadline.remainingMillis() < readTimeoutMillis;
+            long start = System.nanoTime();
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (DeadlineExceededException e) {
+                circuitBreaker.releasePermission();
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                if (isBudgetTimeout(e, deadline, budgetShortened)) {
+                    circuitBreaker.releasePermission();
+                } else {
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                }
+                throw e;
+            }
+
+            long duration = System.nanoTime() - start;
+            if (response.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT) {
+                circuitBreaker.releasePermission();
+            } else if (response.getStatusCode().is5xxServerError()) {
+                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+                        new HttpServerErrorException(response.getStatusCode()));
+            } else {
+                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+            }
+            ClientHttpResponse releasing = new BulkheadReleasingResponse(response, bulkhead);
+            handedOff = true;
+            return releasing;
+        } finally {
+            if (!handedOff) {
+                bulkhead.onComplete();
+            }
+        }
+    }
+
+    /**
+     * A timeout under a socket timeout cut down to the caller's budget, or any failure once that budget is spent,
+     * says more about the caller than about the server.
+     */
+    private static boolean isBudgetTimeout(Exception e, RequestDeadline deadline, boolean budgetShortened) {
+        if (deadline == null) {
+            return false;
+        }
+        return deadline.isExpired() || (budgetShortened && e instanceof InterruptedIOException);
+    }
+
+    private Bulkhead bulkhead(String name) {
+        Integer maxConcurrentCalls = properties.getMaxConcurrentCallsByClient().get(name);
+        if (maxConcurrentCalls == null) {
+            return bulkheads.bulkhead(name);
+        }
+        return bulkheads.bulkhead(name, BulkheadConfig.from(bulkheads.getDefaultConfig())
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .build());
+    }
+
+    private static String clientName(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private static final class BulkheadReleasingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private BulkheadReleasingResponse(ClientHttpResponse response, Bulkhead bulkhead) {
+            this.response = response;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                try {
+                    response.close();
+                } finally {
+                    bulkhead.onComplete();
+                }
+            }
+        }
+    }
+
+    private static ClientHttpResponse unavailable(String message) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        return new BufferedResponse(HttpStatus.SERVICE_UNAVAILABLE, headers, body);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 2_000;
+    private DataSize maxTotalSize = DataSize.ofMegabytes(32);
+    private DataSize maxEntrySize = DataSize.ofKilobytes(64);
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * The server instances listed in {@code shareit-server.url}. Instances are picked by power of two choices on
+ * outstanding requests; an instance is ejected after failed health probes or a connection error and comes back
+ * with the next successful probe.
+ */
+@Slf4j
+public class ServerInstances implements AutoCloseable {
+    private final List<Instance> instances;
+    private final LoadBalancerProperties properties;
+    private final HttpClient probeClient;
+    private final ScheduledExecutorService prober;
+
+    public ServerInstances(String urls, LoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        this.instances = Arrays.stream(urls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> new Instance(URI.create(url)))
+                .collect(Collectors.toUnmodifiableList());
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("shareit-server.url must list at least one server instance");
+        }
+        this.properties = properties;
+        this.probeClient = HttpClient.newBuilder().connectTimeout(properties.getHealthCheckTimeout()).build();
+        this.prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "server-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHealthCheckInterval().toMillis();
+        prober.scheduleWithFixedDelay(this::probeAll, interval, interval, TimeUnit.MILLISECONDS);
+
+        for (Instance instance : instances) {
+            Gauge.builder("shareit.gateway.lb.outstanding", instance.outstanding, AtomicInteger::get)
+                    .tag("instance", instance.uri.toString())
+                    .register(meterRegistry);
+            Gauge.builder("shareit.gateway.lb.healthy", instance, i -> i.healthy ? 1 : 0)
+                    .tag("instance", instance.uri.toString())
+                    .register(meterRegistry);
+        }
+    }
+
+    public String getPrimaryUrl() {
+        return instances.get(0).uri.toString();
+    }
+
+    int size() {
+        return instances.size();
+    }
+
+    Instance choose(Set<Instance> excluded) {
+        List<Instance> candidates = instances.stream()
+                .filter(instance -> instance.healthy && !excluded.contains(instance))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            candidates = instances.stream()
+                    .filter(instance -> !excluded.contains(instance))
+                    .collect(Collectors.toList());
+        }
+        if (candidates.isEmpty()) {
+            candidates = instances;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Instance a = candidates.get(first);
+        Instance b = candidates.get(second);
+        return a.outstanding.get() <= b.outstanding.get() ? a : b;
+    }
+
+    void eject(Instance instance) {
+        if (instance.healthy) {
+            log.warn("Ejecting server instance {}", instance.uri);
+        }
+        instance.healthy = false;
+        instance.failedProbes.set(properties.getUnhealthyThreshold());
+    }
+
+    @Override
+    public void close() {
+        prober.shutdownNow();
+    }
+
+    private void probeAll() {
+        for (Instance instance : instances) {
+            boolean up;
+            try {
+                HttpRequest request = HttpRequest.newBuilder(instance.uri.resolve(properties.getHealthCheckPath()))
+                        .timeout(properties.getHealthCheckTimeout())
+                        .GET()
+                        .build();
+                up = probeClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (IOException e) {
+                up = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (up) {
+                if (!instance.healthy) {
+                    log.info("Server instance {} is back", instance.uri);
+                }
+                instance.failedProbes.set(0);
+                instance.healthy = true;
+            } else if (instance.failedProbes.incrementAndGet() >= properties.getUnhealthyThreshold()) {
+                eject(instance);
+            }
+        }
+    }
+
+    static final class Instance {
+        private final URI uri;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failedProbes = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Instance(URI uri) {
+            this.uri = uri;
+        }
+
+        URI resolve(URI requestUri) {
+            return URI.create(uri.getScheme() + "://" + uri.getRawAuthority() + requestUri.getRawPath()
+                    + (requestUri.getRawQuery() != null ? "?" + requestUri.getRawQuery() : ""));
+        }
+
+        void start() {
+            outstanding.incrementAndGet();
+        }
+
+        void finish() {
+            outstanding.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoadBalancerProperties.class)
+public class ServerInstancesConfig {
+    @Bean(destroyMethod = "close")
+    public ServerInstances serverInstances(@Value("${shareit-server.url}") String urls,
+                                           LoadBalancerProperties properties, MeterRegistry meterRegistry) {
+        return new ServerInstances(urls, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Asks the server for Smile instead of JSON and turns the answer back into JSON with a streaming token copy,
+ * so nothing past this interceptor sees the binary format.
+ */
+public class SmileWireFormatInterceptor implements ClientHttpRequestInterceptor {
+    static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        HttpHeaders requestHeaders = request.getHeaders();
+        if (!requestHeaders.getAccept().contains(MediaType.APPLICATION_JSON)) {
+            return execution.execute(request, body);
+        }
+        requestHeaders.setAccept(List.of(SMILE, MediaType.APPLICATION_JSON));
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (!SMILE.equalsTypeAndSubtype(response.getHeaders().getContentType())) {
+            return response;
+        }
+
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return new BufferedResponse(HttpStatus.valueOf(response.getRawStatusCode()), headers,
+                    toJson(response.getBody()));
+        }
+    }
+
+    private byte[] toJson(InputStream smile) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (JsonParser parser = smileFactory.createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import ru.practicum.shareit.tracing.Span;
+import ru.practicum.shareit.tracing.TraceContext;
+import ru.practicum.shareit.tracing.Tracer;
+
+import java.io.IOException;
+
+/**
+ * Opens a client span around the call to the server, retries included, and sends it as the server's
+ * {@code traceparent}. Runs first so the span also covers the other interceptors.
+ */
+@RequiredArgsConstructor
+public class TracingInterceptor implements ClientHttpRequestInterceptor {
+    private final Tracer tracer;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (Tracer.current() == null) {
+            return execution.execute(request, body);
+        }
+
+        Span span = tracer.start("upstream " + request.getMethodValue() + " " + request.getURI().getPath());
+        request.getHeaders().set(TraceContext.HEADER, span.context().format());
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            span.attribute("http.status", response.getRawStatusCode());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.attribute("error", e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
+}
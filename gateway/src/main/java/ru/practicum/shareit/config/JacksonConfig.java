@@ -0,0 +1,19 @@
+package ru.practicum.shareit.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Boot installs every {@link Module} bean into the shared mapper, which reads incoming request bodies and writes
+ * the ones sent upstream through the RestTemplate and WebClient. Responses from the server are passed through as
+ * bytes and never reach it.
+ */
+@Configuration
+public class JacksonConfig {
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.deadline;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of opening an upstream call once the request budget is spent.
+ */
+public class DeadlineExceededException extends IOException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
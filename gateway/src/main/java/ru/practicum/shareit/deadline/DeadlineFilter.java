@@ -0,0 +1,82 @@
+package ru.practicum.shareit.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gives every request a {@link RequestDeadline}: the client's own {@code X-Request-Timeout} when it sends one,
+ * capped by the budget of the longest matching route prefix or the default budget.
+ */
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+    private final DeadlineProperties properties;
+    private final Timer gatewayTimer;
+    private final Timer upstreamTimer;
+    private final Counter exceeded;
+
+    public DeadlineFilter(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.gatewayTimer = meterRegistry.timer("shareit.gateway.request.layer", "layer", "gateway");
+        this.upstreamTimer = meterRegistry.timer("shareit.gateway.request.layer", "layer", "upstream");
+        this.exceeded = meterRegistry.counter("shareit.gateway.deadline.exceeded");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDeadline deadline = RequestDeadline.start(budgetMillis(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long upstream = deadline.upstreamNanos();
+            gatewayTimer.record(deadline.elapsedNanos() - upstream, TimeUnit.NANOSECONDS);
+            upstreamTimer.record(upstream, TimeUnit.NANOSECONDS);
+            if (deadline.isExpired()) {
+                exceeded.increment();
+            }
+            RequestDeadline.clear();
+        }
+    }
+
+    private long budgetMillis(HttpServletRequest request) {
+        long budget = routeBudget(request.getRequestURI()).toMillis();
+        String header = request.getHeader(RequestDeadline.TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                budget = Math.min(budget, Math.max(1, Long.parseLong(header.trim())));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed {} header: {}", RequestDeadline.TIMEOUT_HEADER, header);
+            }
+        }
+        return budget;
+    }
+
+    private Duration routeBudget(String path) {
+        Duration budget = properties.getDefaultBudget();
+        int matched = -1;
+        for (Map.Entry<String, Duration> route : properties.getRouteBudgets().entrySet()) {
+            if (path.startsWith(route.getKey()) && route.getKey().length() > matched) {
+                budget = route.getValue();
+                matched = route.getKey().length();
+            }
+        }
+        return budget;
+    }
+}
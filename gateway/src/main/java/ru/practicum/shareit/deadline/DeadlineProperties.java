@@ -0,0 +1,18 @@
+package ru.practicum.shareit.deadline;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.deadline")
+public class DeadlineProperties {
+    private boolean enabled = true;
+    private Duration defaultBudget = Duration.ofSeconds(10);
+    private Map<String, Duration> routeBudgets = new LinkedHashMap<>();
+}
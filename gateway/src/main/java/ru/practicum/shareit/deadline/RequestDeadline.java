@@ -0,0 +1,71 @@
+package ru.practicum.shareit.deadline;
+
+import java.util.function.Supplier;
+
+/**
+ * Time budget of the current gateway request and the time spent waiting for the server so far.
+ */
+public final class RequestDeadline {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final long deadline;
+    private long upstreamNanos;
+
+    private RequestDeadline(long budgetNanos) {
+        this.deadline = start + budgetNanos;
+    }
+
+    static RequestDeadline start(long budgetMillis) {
+        RequestDeadline requestDeadline = new RequestDeadline(budgetMillis * 1_000_000);
+        CURRENT.set(requestDeadline);
+        return requestDeadline;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Runs {@code call} under a budget of its own, for work handed off from the request thread to another one.
+     */
+    public static <T> T within(long budgetMillis, Supplier<T> call) {
+        RequestDeadline previous = CURRENT.get();
+        start(budgetMillis);
+        try {
+            return call.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public long remainingMillis() {
+        return (deadline - System.nanoTime()) / 1_000_000;
+    }
+
+    public boolean isExpired() {
+        return deadline - System.nanoTime() <= 0;
+    }
+
+    public void addUpstreamTime(long nanos) {
+        upstreamNanos += nanos;
+    }
+
+    public long upstreamNanos() {
+        return upstreamNanos;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - start;
+    }
+}
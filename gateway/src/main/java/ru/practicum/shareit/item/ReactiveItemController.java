@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.validation.Create;
+import ru.practicum.shareit.validation.Update;
+
+import javax.validation.constraints.Min;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/items")
+@RequiredArgsConstructor
+public class ReactiveItemController {
+    public static final String USER_ID_FROM_HEADER = "X-Sharer-User-Id";
+    private final ReactiveItemClient itemClient;
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                           @PathVariable Long id) {
+        return itemClient.getById(id, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserItems(
+            @RequestHeader(USER_ID_FROM_HEADER) Long userId,
+            @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
+
+        return itemClient.getAllByUserId(userId, from, size);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                                         @RequestBody @Validated(Create.class) ItemDto itemDto) {
+        return itemClient.create(userId, itemDto);
+    }
+
+    @PatchMapping("{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(@RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                          @RequestBody @Validated(Update.class) ItemDto itemDto, @PathVariable Long id) {
+        return itemClient.update(userId, id, itemDto);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItem(
+            @RequestHeader(USER_ID_FROM_HEADER) Long userId,
+            @RequestParam(name = "text") String request,
+            @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
+
+        return itemClient.searchItem(userId, request, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(@Validated({Create.class}) @RequestBody CommentDto commentDto,
+                                 @RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                                 @PathVariable Long itemId) {
+
+        return itemClient.createComment(commentDto, userId, itemId);
+    }
+
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @DeleteMapping("{id}")
+    public Mono<Void> delete(@PathVariable Long id) {
+        return itemClient.deleteItem(id).then();
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per user and source address. The user id is client-supplied, so each address may introduce at most
+ * {@code max-users-per-address} users; further ids from it, and requests without one, share the address's own
+ * bucket. Only once the table holds {@code max-users} buckets do new addresses fall back to a single shared one.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String OVERFLOW_KEY = "";
+    private static final char USER_SEPARATOR = '|';
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Integer> usersPerAddress = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private final RateLimitProperties properties;
+    private final long idleTimeoutNanos;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter rejectedByBucket;
+    private final Counter rejectedByConcurrency;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.concurrencyLimit = properties.getConcurrency().isEnabled()
+                ? new AdaptiveConcurrencyLimit(properties.getConcurrency())
+                : null;
+        this.rejectedByBucket = meterRegistry.counter("shareit.gateway.rate-limit.rejected", "reason", "user");
+        this.rejectedByConcurrency = meterRegistry.counter("shareit.gateway.rate-limit.rejected", "reason", "concurrency");
+        Gauge.builder("shareit.gateway.rate-limit.users", buckets, Map::size).register(meterRegistry);
+        if (concurrencyLimit != null) {
+            Gauge.builder("shareit.gateway.rate-limit.concurrency.limit", concurrencyLimit,
+                    AdaptiveConcurrencyLimit::getLimit).register(meterRegistry);
+            Gauge.builder("shareit.gateway.rate-limit.concurrency.in-flight", concurrencyLimit,
+                    AdaptiveConcurrencyLimit::getInFlight).register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.nanoTime();
+        long waitNanos = bucket(request, now).tryAcquire(now);
+        if (waitNanos > 0) {
+            rejectedByBucket.increment();
+            reject(response, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1, "Too many requests");
+            return;
+        }
+
+        if (concurrencyLimit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            rejectedByConcurrency.increment();
+            reject(response, 1, "Server is overloaded");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            concurrencyLimit.release(end - now, end);
+        }
+    }
+
+    private TokenBucket bucket(HttpServletRequest request, long now) {
+        String address = request.getRemoteAddr();
+        String userId = request.getHeader(USER_HEADER);
+        String key = userId != null ? address + USER_SEPARATOR + userId : address;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        evictIdle(now);
+        if (userId != null && (usersPerAddress.getOrDefault(address, 0) >= properties.getMaxUsersPerAddress()
+                || buckets.size() >= properties.getMaxUsers())) {
+            key = address;
+        }
+        if (buckets.size() >= properties.getMaxUsers() && !buckets.containsKey(key)) {
+            key = OVERFLOW_KEY;
+        }
+        return buckets.computeIfAbsent(key, k -> {
+            if (k.indexOf(USER_SEPARATOR) >= 0) {
+                usersPerAddress.merge(address, 1, Integer::sum);
+            }
+            return new TokenBucket(properties.getCapacity(), properties.getRefillPerSecond(), now);
+        });
+    }
+
+    /**
+     * Sweeps at most once per half idle timeout, also when the table is full: new keys then go to the overflow
+     * bucket until the next sweep, so a flood of unseen ids cannot turn every request into a full scan.
+     */
+    private void evictIdle(long now) {
+        long last = lastSweep.get();
+        if (now - last < idleTimeoutNanos / 2) {
+            return;
+        }
+        if (lastSweep.compareAndSet(last, now)) {
+            buckets.entrySet().removeIf(entry -> {
+                if (now - entry.getValue().lastUsed() <= idleTimeoutNanos) {
+                    return false;
+                }
+                int separator = entry.getKey().indexOf(USER_SEPARATOR);
+                if (separator >= 0) {
+                    usersPerAddress.computeIfPresent(entry.getKey().substring(0, separator),
+                            (address, users) -> users > 1 ? users - 1 : null);
+                }
+                return true;
+            });
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
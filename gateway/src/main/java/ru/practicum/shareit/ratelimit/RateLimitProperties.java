@@ -0,0 +1,31 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int capacity = 50;
+    private double refillPerSecond = 20;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private int maxUsers = 100_000;
+    private int maxUsersPerAddress = 100;
+    private final Concurrency concurrency = new Concurrency();
+
+    @Getter
+    @Setter
+    public static class Concurrency {
+        private boolean enabled = false;
+        private int initialLimit = 100;
+        private int minLimit = 10;
+        private int maxLimit = 400;
+        private Duration targetLatency = Duration.ofMillis(500);
+        private double backoffRatio = 0.9;
+    }
+}
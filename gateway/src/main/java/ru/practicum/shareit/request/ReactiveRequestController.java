@@ -0,0 +1,50 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.validation.Create;
+
+import javax.validation.constraints.Min;
+
+@RequiredArgsConstructor
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/requests")
+@Validated
+public class ReactiveRequestController {
+    public static final String USER_ID_FROM_HEADER = "X-Sharer-User-Id";
+    private final ReactiveRequestClient requestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                                         @Validated({Create.class}) @RequestBody ItemRequestDto requestDto) {
+        return requestClient.create(userId, requestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(@RequestHeader(USER_ID_FROM_HEADER) Long userId) {
+        return requestClient.getAllUserRequests(userId);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(@RequestHeader(USER_ID_FROM_HEADER) Long userId,
+                                                 @PathVariable Long requestId) {
+        return requestClient.getRequestById(userId, requestId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(
+            @RequestHeader(USER_ID_FROM_HEADER) Long userId,
+            @RequestParam(required = false, defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(required = false, defaultValue = "10") @Min(1) Integer size) {
+
+        return requestClient.getAllRequests(userId, from, size);
+    }
+}
\ No newline at end of file
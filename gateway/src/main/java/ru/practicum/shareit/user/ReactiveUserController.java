@@ -0,0 +1,60 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.validation.Create;
+import ru.practicum.shareit.validation.Update;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Validated
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getById(@PathVariable Long id) {
+        return userClient.getById(id);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAll(
+            @RequestParam(required = false, defaultValue = "0") @Min(0) Long after,
+            @RequestParam(required = false) @Min(1) @Max(1000) Integer size) {
+        return size == null ? userClient.getAll() : userClient.getAll(after, size);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> streamAll() {
+        return userClient.streamAll();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> create(@RequestBody @Validated(Create.class) UserDto userDto) {
+        return userClient.create(userDto);
+    }
+
+    @PatchMapping("{id}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> update(@RequestBody @Validated(Update.class) UserDto userDto, @PathVariable Long id) {
+        return userClient.update(id, userDto);
+    }
+
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @DeleteMapping("{id}")
+    public Mono<Void> delete(@PathVariable Long id) {
+        return userClient.deleteUser(id).then();
+    }
+}
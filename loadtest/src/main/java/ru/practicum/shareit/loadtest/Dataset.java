@@ -0,0 +1,26 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Ids created by the {@link Seeder}, sampled uniformly by the endpoints.
+ */
+@Value
+public class Dataset {
+    static final String USER_HEADER = "X-Sharer-User-Id";
+    static final List<String> SEARCH_TERMS = List.of("аккУМУляторная", "оТверТ", "дРелЬ", "saw", "ladder");
+
+    List<Long> userIds;
+    List<Long> itemIds;
+
+    long randomUser(Random random) {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+
+    long randomItem(Random random) {
+        return itemIds.get(random.nextInt(itemIds.size()));
+    }
+}
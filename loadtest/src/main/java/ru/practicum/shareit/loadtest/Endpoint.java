@@ -0,0 +1,73 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Read endpoints driven during the measured phase, modelled on the GET calls of {@code postman/sprint.json}.
+ */
+public enum Endpoint {
+    SEARCH("search") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            String text = Dataset.SEARCH_TERMS.get(random.nextInt(Dataset.SEARCH_TERMS.size()));
+            return "/items/search?text=" + URLEncoder.encode(text, StandardCharsets.UTF_8) + "&from=0&size=20";
+        }
+    },
+    ITEM("item") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/items/" + dataset.randomItem(random);
+        }
+    },
+    BOOKINGS("bookings") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return random.nextBoolean() ? "/bookings?state=ALL&from=0&size=20"
+                    : "/bookings/owner?state=ALL&from=0&size=20";
+        }
+    },
+    REQUESTS("requests") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/requests/all?from=0&size=20";
+        }
+    },
+    USER("user") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/users/" + dataset.randomUser(random);
+        }
+    };
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    abstract String path(Dataset dataset, Random random);
+
+    HttpRequest request(String baseUrl, Dataset dataset, Random random) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path(dataset, random)))
+                .header(Dataset.USER_HEADER, String.valueOf(dataset.randomUser(random)))
+                .GET()
+                .build();
+    }
+
+    static Endpoint byName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.label.equalsIgnoreCase(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + name);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of one endpoint in microseconds. Response time is measured from the scheduled send time, so a
+ * stalled client or server is charged for every request it delayed; service time is measured from the actual
+ * send and shows the coordinated-omission error a closed-loop tool would report. Requests that had not completed
+ * when the run ended are in neither histogram and are counted as unfinished.
+ */
+@Getter
+public class EndpointStats {
+    private static final long HIGHEST_TRACKABLE = TimeUnit.MINUTES.toMicros(10);
+
+    private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+
+    void arrive() {
+        pending.increment();
+    }
+
+    void record(long intendedNanos, long sentNanos, long completedNanos, int status) {
+        responseTime.recordValue(toMicros(completedNanos - intendedNanos));
+        serviceTime.recordValue(toMicros(completedNanos - sentNanos));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        pending.decrement();
+    }
+
+    void fail() {
+        failures.increment();
+        pending.decrement();
+    }
+
+    long unfinished() {
+        return pending.sum();
+    }
+
+    /**
+     * Share of the scheduled requests missing from the histograms; any is enough to make the tail percentiles
+     * optimistic.
+     */
+    double unfinishedShare() {
+        long unfinished = unfinished();
+        long scheduled = unfinished + failures.sum() + responseTime.getTotalCount();
+        return scheduled == 0 ? 0 : (double) unfinished / scheduled;
+    }
+
+    long errors() {
+        long errors = failures.sum();
+        for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+            if (entry.getKey() >= 400) {
+                errors += entry.getValue().sum();
+            }
+        }
+        return errors;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Prints per-endpoint percentiles in milliseconds and writes the full distributions as {@code .hgrm} files
+ * that can be plotted with the HdrHistogram plotter. Percentiles of an endpoint with unfinished requests are
+ * marked with {@code *}: the missing requests are the slowest ones, so those numbers understate the tail.
+ */
+public class LatencyReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String ROW = "%-10s %8s %8s %8s %10s %10s %10s %10s %10s  %s%n";
+
+    private final Map<Endpoint, EndpointStats> stats;
+    private final Duration duration;
+
+    public LatencyReport(Map<Endpoint, EndpointStats> stats, Duration duration) {
+        this.stats = stats;
+        this.duration = duration;
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.println("Response time (from scheduled start, corrected for coordinated omission)");
+        table(out, true);
+        out.println();
+        out.println("Service time (from actual send, uncorrected)");
+        table(out, false);
+        if (stats.values().stream().anyMatch(endpointStats -> endpointStats.unfinished() > 0)) {
+            out.println();
+            out.println("* invalid: requests still queued or in flight when the run ended are not in the histograms");
+        }
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Path file = directory.resolve(entry.getKey().getLabel() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                entry.getValue().getResponseTime().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private void table(PrintStream out, boolean corrected) {
+        out.printf(ROW, "endpoint", "count", "rps", "errors", "unfinished", "p50", "p99", "p999", "max", "statuses");
+        Histogram total = new Histogram(3);
+        long unfinished = 0;
+        long scheduled = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram histogram = corrected ? endpointStats.getResponseTime() : endpointStats.getServiceTime();
+            total.add(histogram);
+            unfinished += endpointStats.unfinished();
+            scheduled += endpointStats.unfinished() + endpointStats.getFailures().sum() + histogram.getTotalCount();
+            row(out, entry.getKey().getLabel(), histogram, endpointStats.errors(), endpointStats.unfinishedShare(),
+                    statuses(endpointStats));
+        }
+        row(out, "total", total, stats.values().stream().mapToLong(EndpointStats::errors).sum(),
+                scheduled == 0 ? 0 : (double) unfinished / scheduled, "");
+    }
+
+    private void row(PrintStream out, String label, Histogram histogram, long errors, double unfinishedShare,
+                     String statuses) {
+        String mark = unfinishedShare > 0 ? "*" : "";
+        out.printf(ROW, label, histogram.getTotalCount(),
+                String.format("%.1f", histogram.getTotalCount() / (duration.toMillis() / MICROS_PER_MILLI)),
+                errors, String.format("%.2f%%", unfinishedShare * 100),
+                millis(histogram.getValueAtPercentile(50)) + mark, millis(histogram.getValueAtPercentile(99)) + mark,
+                millis(histogram.getValueAtPercentile(99.9)) + mark, millis(histogram.getMaxValue()) + mark, statuses);
+    }
+
+    private static String statuses(EndpointStats endpointStats) {
+        String statuses = endpointStats.getStatuses().entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue().sum())
+                .collect(Collectors.joining(" "));
+        if (endpointStats.getFailures().sum() > 0) {
+            statuses += " io=" + endpointStats.getFailures().sum();
+        }
+        if (endpointStats.unfinished() > 0) {
+            statuses += " unfinished=" + endpointStats.unfinished();
+        }
+        return statuses;
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.2f", micros / MICROS_PER_MILLI);
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model generator: requests are scheduled at a fixed arrival rate regardless of how many are still in
+ * flight, and each one is timed from its scheduled start. Requests scheduled during warmup are sent but not
+ * recorded. When {@code maxInFlight} requests are outstanding new arrivals wait in a backlog and are sent as
+ * others complete, still timed from their scheduled start. Requests that have not completed when the drain
+ * timeout runs out are reported as unfinished.
+ */
+public class LoadGenerator {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient client;
+    private final LoadTestOptions options;
+    private final Dataset dataset;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Arrival> backlog = new ConcurrentLinkedQueue<>();
+    private volatile boolean finished;
+
+    public LoadGenerator(HttpClient client, LoadTestOptions options, Dataset dataset) {
+        this.client = client;
+        this.options = options;
+        this.dataset = dataset;
+        this.endpoints = options.getMix().keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += options.getMix().get(endpoints[i]);
+            cumulativeWeights[i] = total;
+            stats.put(endpoints[i], new EndpointStats());
+        }
+    }
+
+    public Map<Endpoint, EndpointStats> run() throws InterruptedException {
+        Random random = new Random(options.getSeed());
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            Endpoint endpoint = next(random);
+            EndpointStats endpointStats = intended >= measureFrom ? stats.get(endpoint) : null;
+            if (endpointStats != null) {
+                endpointStats.arrive();
+            }
+            backlog.add(new Arrival(endpoint.request(options.getBaseUrl(), dataset, random), intended, endpointStats));
+            dispatch();
+        }
+
+        long drainUntil = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while ((inFlight.get() > 0 || !backlog.isEmpty()) && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+        finished = true;
+        return stats;
+    }
+
+    /**
+     * Sends backlogged arrivals in order while fewer than {@code maxInFlight} are outstanding. Called after every
+     * arrival and completion; a caller that takes a slot and finds the backlog empty re-checks after giving the
+     * slot back, so an arrival queued in between is not stranded.
+     */
+    private void dispatch() {
+        while (!finished) {
+            int current = inFlight.get();
+            if (current >= options.getMaxInFlight()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Arrival arrival = backlog.poll();
+            if (arrival != null) {
+                send(arrival);
+                continue;
+            }
+            inFlight.decrementAndGet();
+            if (backlog.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void send(Arrival arrival) {
+        long sent = System.nanoTime();
+        client.sendAsync(arrival.request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    long completed = System.nanoTime();
+                    inFlight.decrementAndGet();
+                    if (arrival.stats != null && !finished) {
+                        if (e != null) {
+                            arrival.stats.fail();
+                        } else {
+                            arrival.stats.record(arrival.intended, sent, completed, response.statusCode());
+                        }
+                    }
+                    dispatch();
+                });
+    }
+
+    private Endpoint next(Random random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private static class Arrival {
+        final HttpRequest request;
+        final long intended;
+        final EndpointStats stats;
+
+        Arrival(HttpRequest request, long intended, EndpointStats stats) {
+            this.request = request;
+            this.intended = intended;
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        LocalServers servers = options.isLocal() ? LocalServers.start(options, client) : null;
+        try {
+            System.out.printf("Seeding %d users and %d items through %s%n", options.getUsers(), options.getItems(),
+                    options.getBaseUrl());
+            Dataset dataset = new Seeder(client, options.getBaseUrl()).seed(options.getUsers(), options.getItems());
+
+            System.out.printf("Running %d req/s for %s after %s warmup, mix %s%n", options.getRate(),
+                    options.getDuration(), options.getWarmup(), options.getMix());
+            Map<Endpoint, EndpointStats> stats = new LoadGenerator(client, options, dataset).run();
+
+            LatencyReport report = new LatencyReport(stats, options.getDuration());
+            report.print(System.out);
+            report.write(options.getOutputDir());
+            System.out.printf("%nHistograms written to %s%n", options.getOutputDir().toAbsolutePath());
+        } finally {
+            if (servers != null) {
+                servers.close();
+            }
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options, given as {@code --name=value}. Durations accept {@code ms}, {@code s} and {@code m}
+ * suffixes.
+ */
+@Value
+@Builder
+public class LoadTestOptions {
+    @Builder.Default
+    String baseUrl = "http://localhost:8080";
+    @Builder.Default
+    int rate = 200;
+    @Builder.Default
+    Duration warmup = Duration.ofSeconds(10);
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(60);
+    @Builder.Default
+    int users = 50;
+    @Builder.Default
+    int items = 500;
+    @Builder.Default
+    Map<Endpoint, Integer> mix = parseMix("search=60,item=20,bookings=10,requests=5,user=5");
+    @Builder.Default
+    int maxInFlight = 1000;
+    @Builder.Default
+    long seed = 42;
+    @Builder.Default
+    boolean local = false;
+    @Builder.Default
+    String gatewayProfile = "";
+    @Builder.Default
+    Path serverJar = Path.of("server/target/shareit-server-0.0.1-SNAPSHOT-exec.jar");
+    @Builder.Default
+    Path gatewayJar = Path.of("gateway/target/shareit-gateway-0.0.1-SNAPSHOT.jar");
+    @Builder.Default
+    Path outputDir = Path.of("loadtest/target");
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptionsBuilder builder = builder();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "base-url":
+                    builder.baseUrl(value);
+                    break;
+                case "rate":
+                    builder.rate(Integer.parseInt(value));
+                    break;
+                case "warmup":
+                    builder.warmup(parseDuration(value));
+                    break;
+                case "duration":
+                    builder.duration(parseDuration(value));
+                    break;
+                case "users":
+                    builder.users(Integer.parseInt(value));
+                    break;
+                case "items":
+                    builder.items(Integer.parseInt(value));
+                    break;
+                case "mix":
+                    builder.mix(parseMix(value));
+                    break;
+                case "max-in-flight":
+                    builder.maxInFlight(Integer.parseInt(value));
+                    break;
+                case "seed":
+                    builder.seed(Long.parseLong(value));
+                    break;
+                case "local":
+                    builder.local(Boolean.parseBoolean(value));
+                    break;
+                case "gateway-profile":
+                    builder.gatewayProfile(value);
+                    break;
+                case "server-jar":
+                    builder.serverJar(Path.of(value));
+                    break;
+                case "gateway-jar":
+                    builder.gatewayJar(Path.of(value));
+                    break;
+                case "output-dir":
+                    builder.outputDir(Path.of(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        return builder.build();
+    }
+
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            mix.put(Endpoint.byName(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
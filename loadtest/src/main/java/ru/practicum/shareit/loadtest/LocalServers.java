@@ -0,0 +1,89 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the packaged server (test profile, in-memory H2) and gateway as child processes and stops them on
+ * close. The gateway runs under {@code --gateway-profile} when one is given, e.g. {@code reactive}. The two
+ * applications share package and class names, so they cannot run in one JVM.
+ */
+public class LocalServers implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final List<Process> processes = new ArrayList<>();
+
+    public static LocalServers start(LoadTestOptions options, HttpClient client)
+            throws IOException, InterruptedException {
+        LocalServers servers = new LocalServers();
+        try {
+            Files.createDirectories(options.getOutputDir());
+            servers.launch(options.getServerJar(), options.getOutputDir().resolve("server.log"),
+                    "--spring.profiles.active=test");
+            if (options.getGatewayProfile().isEmpty()) {
+                servers.launch(options.getGatewayJar(), options.getOutputDir().resolve("gateway.log"));
+            } else {
+                servers.launch(options.getGatewayJar(), options.getOutputDir().resolve("gateway.log"),
+                        "--spring.profiles.active=" + options.getGatewayProfile());
+            }
+            awaitHealthy(client, "http://localhost:9090");
+            awaitHealthy(client, options.getBaseUrl());
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            servers.close();
+            throw e;
+        }
+        return servers;
+    }
+
+    private void launch(Path jar, Path log, String... args) throws IOException {
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " not found, run mvn package first");
+        }
+        List<String> command = new ArrayList<>(List.of(ProcessHandle.current().info().command().orElse("java"),
+                "-jar", jar.toString()));
+        command.addAll(List.of(args));
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+    }
+
+    private static void awaitHealthy(HttpClient client, String baseUrl) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(baseUrl + " did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() {
+        for (Process process : processes) {
+            process.destroy();
+        }
+        for (Process process : processes) {
+            try {
+                process.waitFor();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+    }
+}
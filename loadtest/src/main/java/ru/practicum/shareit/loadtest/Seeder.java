@@ -0,0 +1,92 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates users, item requests, items and bookings through the gateway, following the order of the postman
+ * collection. Emails carry a run suffix so repeated runs against the same database do not conflict.
+ */
+public class Seeder {
+    private static final List<String> ITEM_NAMES = List.of("Аккумуляторная дрель", "Отвертка аккумуляторная",
+            "Дрель ударная", "Hand saw", "Folding ladder", "Garden hose");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public Seeder(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    public Dataset seed(int users, int items) throws IOException, InterruptedException {
+        long run = System.currentTimeMillis();
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userIds.add(post("/users", null,
+                    Map.of("name", "Load " + i, "email", "load" + i + "." + run + "@example.com")));
+        }
+        for (Long userId : userIds) {
+            post("/requests", userId, Map.of("description", "Need a tool for the weekend"));
+        }
+
+        List<Long> itemIds = new ArrayList<>();
+        List<Long> owners = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            long owner = userIds.get(i % users);
+            String name = ITEM_NAMES.get(i % ITEM_NAMES.size());
+            itemIds.add(post("/items", owner, Map.of("name", name, "description", name + " #" + i,
+                    "available", true)));
+            owners.add(owner);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < items && users > 1; i++) {
+            long booker = userIds.get((i + 1) % users);
+            LocalDateTime start = now.plusDays(1 + i % 30);
+            long bookingId = post("/bookings", booker, Map.of("itemId", itemIds.get(i),
+                    "start", start.format(DATE_FORMAT), "end", start.plusDays(1).format(DATE_FORMAT)));
+            if (i % 2 == 0) {
+                send(HttpRequest.newBuilder(URI.create(baseUrl + "/bookings/" + bookingId + "?approved=true"))
+                        .header(Dataset.USER_HEADER, String.valueOf(owners.get(i)))
+                        .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                        .build());
+            }
+        }
+        return new Dataset(userIds, itemIds);
+    }
+
+    private long post(String path, Long userId, Map<String, Object> body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+        if (userId != null) {
+            request.header(Dataset.USER_HEADER, String.valueOf(userId));
+        }
+        JsonNode response = mapper.readTree(send(request.build()));
+        return response.get("id").asLong();
+    }
+
+    private byte[] send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode() + ": " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return response.body();
+    }
+}
@@ -87,6 +87,9 @@ public class BookingServiceImpl implements BookingService {
     public BookingOutDto getById(Long bookingId, Long userId) {
         Booking booking = validateBookingByIdOrException(bookingId);
 
+        if (booking.getBooker().isDeleted() || booking.getItem().isDeleted()) {
+            throw new NotFoundException("Booking not found");
+        }
         if (!Objects.equals(booking.getBooker().getId(), userId)
                 && !Objects.equals(booking.getItem().getOwner().getId(), userId)) {
             throw new NotFoundException("Booking not found");
@@ -119,7 +122,7 @@ public class BookingServiceImpl implements BookingService {
                 return mapToDto(bookingRepository.getRejectedBookingsByBooker(userId, pageable));
 
             default:
-                return mapToDto(bookingRepository.getBookingsByBookerIdOrderByStartDesc(userId, pageable));
+                return mapToDto(bookingRepository.getBookingsByBookerIdAndItemDeletedFalseOrderByStartDesc(userId, pageable));
         }
     }
 
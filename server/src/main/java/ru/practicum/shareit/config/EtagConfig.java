@@ -0,0 +1,66 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Configuration
+public class EtagConfig {
+    /**
+     * Pages above this size skip the ETag buffer, so Jackson's generator writes them straight to the response instead
+     * of into a copy of the whole body that only exists to be hashed.
+     */
+    private static final int MAX_BUFFERED_PAGE_SIZE = 100;
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                if (isLargePage(request)) {
+                    disableContentCaching(request);
+                }
+                super.doFilterInternal(request, response, filterChain);
+            }
+        };
+        filter.setWriteWeakETag(false);
+
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/users/*", "/items/*", "/bookings/*", "/requests/*");
+        registration.setOrder(0);
+        return registration;
+    }
+
+    /**
+     * Tomcat refuses to compress responses with a strong ETag by default, which would switch compression off for
+     * every GET. The gateway always asks for the same encoding, so one tag per resource is enough.
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> compressStrongEtagResponses() {
+        return factory -> factory.addConnectorCustomizers(connector ->
+                connector.setProperty("noCompressionStrongETag", "false"));
+    }
+
+    private static boolean isLargePage(HttpServletRequest request) {
+        String size = HttpMethod.GET.matches(request.getMethod()) ? request.getParameter("size") : null;
+        if (size == null) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(size) > MAX_BUFFERED_PAGE_SIZE;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
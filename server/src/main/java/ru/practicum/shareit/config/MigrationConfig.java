@@ -0,0 +1,39 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Configuration
+public class MigrationConfig {
+    /**
+     * On an up-to-date database this is a read of the schema history table plus checksum validation of the
+     * bundled scripts; the log line makes a slow or unexpected migration visible at startup. The pool is started
+     * first so that the time covers Flyway alone.
+     */
+    @Bean
+    public FlywayMigrationStrategy timedMigrationStrategy() {
+        return flyway -> {
+            try (Connection connection = flyway.getConfiguration().getDataSource().getConnection()) {
+                log.debug("Checking migrations on {}", connection.getMetaData().getURL());
+            } catch (SQLException e) {
+                throw new FlywayException("Unable to obtain a connection", e);
+            }
+            long started = System.nanoTime();
+            MigrateResult result = flyway.migrate();
+            String version = result.targetSchemaVersion != null
+                    ? result.targetSchemaVersion
+                    : result.initialSchemaVersion;
+            log.info("Schema at version {} after {} migration(s) in {} ms", version, result.migrationsExecuted,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary. Read-only transactions fall back
+ * to the primary when no replica is usable or the user wrote recently. Must be wrapped in a
+ * {@code LazyConnectionDataSourceProxy}: the transaction's read-only flag is only set after the transaction
+ * manager has asked for a connection. The routing counters are bound late, as a {@link MeterBinder}, because the
+ * meter registry itself depends on the data sources.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+    static final String PRIMARY = "primary";
+
+    private final ReplicaMonitor replicaMonitor;
+    private final ReadYourWrites readYourWrites;
+    private Counter primaryReads;
+    private Counter stickyReads;
+    private Counter replicaReads;
+    private Counter writes;
+
+    public ReadWriteRoutingDataSource(ReplicaMonitor replicaMonitor, ReadYourWrites readYourWrites) {
+        this.replicaMonitor = replicaMonitor;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        primaryReads = routingCounter(meterRegistry, PRIMARY, "no-replica");
+        stickyReads = routingCounter(meterRegistry, PRIMARY, "sticky");
+        replicaReads = routingCounter(meterRegistry, "replica", "read-only");
+        writes = routingCounter(meterRegistry, PRIMARY, "read-write");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWrite();
+            increment(writes);
+            return PRIMARY;
+        }
+        if (readYourWrites.isSticky()) {
+            increment(stickyReads);
+            return PRIMARY;
+        }
+        String replica = replicaMonitor.choose();
+        if (replica == null) {
+            increment(primaryReads);
+            return PRIMARY;
+        }
+        increment(replicaReads);
+        return replica;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return meterRegistry.counter("shareit.datasource.routing", "target", target, "reason", reason);
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps reads on the primary for {@code window} after a read-write transaction, until the replicas have caught up.
+ * A write answers with {@value #PRIMARY_UNTIL_HEADER}, the epoch milliseconds the window ends at; a request that
+ * sends it back reads from the primary on any server instance. The gateway keeps it in a cookie for its clients.
+ * Writes are also remembered on this instance for callers that do not echo the header, keyed by the
+ * {@code X-Sharer-User-Id} header and by the id in {@code /users/{id}}, which profile updates send without one.
+ */
+public class ReadYourWrites {
+    public static final String PRIMARY_UNTIL_HEADER = "X-Primary-Until";
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Pattern USER_PATH = Pattern.compile("/users/(\\d+)/?");
+
+    private final long windowNanos;
+    private final long windowMillis;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+        this.windowMillis = window.toMillis();
+    }
+
+    void recordWrite() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            response.setHeader(PRIMARY_UNTIL_HEADER, String.valueOf(System.currentTimeMillis() + windowMillis));
+        }
+        long now = System.nanoTime();
+        HttpServletRequest request = attributes.getRequest();
+        String user = request.getHeader(USER_HEADER);
+        if (user != null) {
+            lastWrites.put(user, now);
+        }
+        String pathUser = pathUser(request);
+        if (pathUser != null) {
+            lastWrites.put(pathUser, now);
+        }
+    }
+
+    boolean isSticky() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        return isWithinWindow(request.getHeader(PRIMARY_UNTIL_HEADER))
+                || isRecent(request.getHeader(USER_HEADER))
+                || isRecent(pathUser(request));
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    private boolean isRecent(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWrites.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        lastWrites.remove(user, lastWrite);
+        return false;
+    }
+
+    /**
+     * The end of the window as sent back by the client. Values more than a window ahead were never handed out by
+     * a write and are ignored.
+     */
+    private boolean isWithinWindow(String primaryUntil) {
+        if (primaryUntil == null) {
+            return false;
+        }
+        long until;
+        try {
+            until = Long.parseLong(primaryUntil);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        return until > now && until <= now + windowMillis;
+    }
+
+    private static String pathUser(HttpServletRequest request) {
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? (ServletRequestAttributes) attributes : null;
+    }
+}
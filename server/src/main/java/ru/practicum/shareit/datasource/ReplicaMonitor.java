@@ -0,0 +1,112 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the replication lag of every replica with {@code lagQuery} and hands out, round robin, the replicas
+ * whose last measurement succeeded and was within {@code maxLag}. A replica that cannot be reached, or has not been
+ * measured yet, is not used. An empty {@code lagQuery} treats reachable replicas as current.
+ */
+@Slf4j
+public class ReplicaMonitor implements MeterBinder, AutoCloseable {
+    static final long UNKNOWN_LAG = -1;
+
+    private final Map<String, HikariDataSource> replicas;
+    private final ReplicaProperties properties;
+    private final Map<String, AtomicLong> lagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> usable = List.of();
+
+    public ReplicaMonitor(Map<String, HikariDataSource> replicas, ReplicaProperties properties) {
+        this.replicas = replicas;
+        this.properties = properties;
+        this.lagMillis = new LinkedHashMap<>();
+        for (String name : replicas.keySet()) {
+            lagMillis.put(name, new AtomicLong(UNKNOWN_LAG));
+        }
+    }
+
+    /**
+     * Registers the lag gauges and the replica pools' own metrics. Must run before the first lag check, since Hikari
+     * refuses a metrics tracker once a pool has started.
+     */
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        for (Map.Entry<String, AtomicLong> lag : lagMillis.entrySet()) {
+            Gauge.builder("shareit.datasource.replica.lag", lag.getValue(), AtomicLong::get)
+                    .tag("replica", lag.getKey())
+                    .baseUnit("milliseconds")
+                    .description("Replication lag, -1 when the replica could not be checked")
+                    .register(meterRegistry);
+            replicas.get(lag.getKey()).setMetricRegistry(meterRegistry);
+        }
+    }
+
+    /**
+     * The replica for the next read-only transaction, or {@code null} when none is usable.
+     */
+    public String choose() {
+        List<String> candidates = usable;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.datasource.lag-check-interval-millis:5000}")
+    public void check() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, HikariDataSource> replica : replicas.entrySet()) {
+            long lag = measure(replica.getKey(), replica.getValue());
+            lagMillis.get(replica.getKey()).set(lag);
+            if (lag != UNKNOWN_LAG && lag <= properties.getMaxLag().toMillis()) {
+                healthy.add(replica.getKey());
+            } else if (usable.contains(replica.getKey())) {
+                log.warn("Replica {} taken out of rotation, lag {} ms", replica.getKey(), lag);
+            }
+        }
+        usable = List.copyOf(healthy);
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    private long measure(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!StringUtils.hasText(properties.getLagQuery())) {
+                return connection.isValid(1) ? 0 : UNKNOWN_LAG;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(properties.getLagQuery())) {
+                return resultSet.next() ? Math.max(0, resultSet.getLong(1)) : UNKNOWN_LAG;
+            }
+        } catch (SQLException e) {
+            log.warn("Lag check of replica {} failed: {}", name, e.getMessage());
+            return UNKNOWN_LAG;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DeadlineConfig {
+    @Bean
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(new DeadlineFilter(meterRegistry));
+        registration.setOrder(1);
+        return registration;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the {@link RequestDeadline} from the {@code X-Request-Timeout} header (milliseconds left for the caller),
+ * refuses requests that arrive already expired and reports where the time went in {@code Server-Timing}.
+ */
+@Slf4j
+public class DeadlineFilter extends OncePerRequestFilter {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final Timer dbTimer;
+    private final Timer appTimer;
+
+    public DeadlineFilter(MeterRegistry meterRegistry) {
+        this.dbTimer = meterRegistry.timer("shareit.request.layer", "layer", "db");
+        this.appTimer = meterRegistry.timer("shareit.request.layer", "layer", "app");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestDeadline deadline = RequestDeadline.start(budgetMillis(request));
+        try {
+            if (deadline.isExpired()) {
+                response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write("{\"error\":\"Deadline exceeded before the request was handled\"}");
+                return;
+            }
+            chain.doFilter(request, response);
+        } finally {
+            long db = deadline.dbNanos();
+            long app = deadline.elapsedNanos() - db;
+            dbTimer.record(db, TimeUnit.NANOSECONDS);
+            appTimer.record(app, TimeUnit.NANOSECONDS);
+            if (!response.isCommitted()) {
+                response.setHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%.1f, app;dur=%.1f",
+                        db / 1e6, app / 1e6));
+            }
+            RequestDeadline.clear();
+        }
+    }
+
+    private static long budgetMillis(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null) {
+            return 0;
+        }
+        try {
+            return Math.max(1, Long.parseLong(header.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed {} header: {}", TIMEOUT_HEADER, header);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.deadline;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.DeadlineExceededException;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Turns the remaining request budget into the query timeout of the surrounding transaction before every repository
+ * call, and stops the request at the next repository call once the budget is gone. JDBC timeouts have a resolution
+ * of one second, so a shorter remainder is rounded up to a second.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryDeadlineAspect {
+    private static final long MIN_QUERY_TIMEOUT_MILLIS = 1000;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object applyDeadline(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return joinPoint.proceed();
+        }
+
+        if (deadline.isBounded()) {
+            long remaining = deadline.remainingMillis();
+            if (remaining <= 0) {
+                throw new DeadlineExceededException("Deadline exceeded before " + joinPoint.getSignature().toShortString());
+            }
+            EntityManagerHolder holder =
+                    (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+            if (holder != null) {
+                holder.setTimeoutInMillis(Math.max(MIN_QUERY_TIMEOUT_MILLIS, remaining));
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            deadline.addDbTime(System.nanoTime() - start);
+        }
+    }
+}
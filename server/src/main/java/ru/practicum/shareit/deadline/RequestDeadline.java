@@ -0,0 +1,54 @@
+package ru.practicum.shareit.deadline;
+
+/**
+ * Time budget of the current request, as announced by the gateway, and the time spent on repository calls so far.
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long start = System.nanoTime();
+    private final long deadline;
+    private long dbNanos;
+
+    private RequestDeadline(long budgetNanos) {
+        this.deadline = budgetNanos > 0 ? start + budgetNanos : Long.MAX_VALUE;
+    }
+
+    static RequestDeadline start(long budgetMillis) {
+        RequestDeadline requestDeadline = new RequestDeadline(budgetMillis * 1_000_000);
+        CURRENT.set(requestDeadline);
+        return requestDeadline;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    public boolean isBounded() {
+        return deadline != Long.MAX_VALUE;
+    }
+
+    public long remainingMillis() {
+        return (deadline - System.nanoTime()) / 1_000_000;
+    }
+
+    public boolean isExpired() {
+        return isBounded() && deadline - System.nanoTime() <= 0;
+    }
+
+    void addDbTime(long nanos) {
+        dbNanos += nanos;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - start;
+    }
+
+    long dbNanos() {
+        return dbNanos;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class StatementBudgetExceededException extends RuntimeException {
+    public StatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -2,19 +2,36 @@ package ru.practicum.shareit.item.dao;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
     @Query(" select i from Item i " +
             "where lower(i.name) like lower(concat('%', ?1, '%')) " +
             "or lower(i.description) like lower(concat('%', ?1, '%')) " +
             "and i.available = true ")
     List<Item> search(String text, Pageable pageable);
 
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
     List<Item> findAllByOwnerIdOrderByIdAsc(Long ownerId, Pageable pageable);
+
+    @Modifying
+    @Query(" update Item i set i.deleted = true where i.id = ?1 and i.deleted = false ")
+    int markDeleted(Long id);
+
+    @Modifying
+    @Query(" update Item i set i.deleted = true " +
+            "where i.deleted = false and (i.owner.id = ?1 " +
+            "or i.requestId in (select r.id from ItemRequest r where r.requesterId = ?1)) ")
+    int markDeletedByUser(Long userId);
 }
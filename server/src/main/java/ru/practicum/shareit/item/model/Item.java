@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.model;
 
 import lombok.*;
+import org.hibernate.annotations.Where;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.*;
@@ -13,6 +14,7 @@ import javax.persistence.*;
 @AllArgsConstructor
 @ToString
 @Builder
+@Where(clause = "deleted = false")
 public class Item {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,5 +30,6 @@ public class Item {
     private User owner;
     @Column(name = "request_id")
     private Long requestId;
-
+    @Column(nullable = false)
+    private boolean deleted;
 }
@@ -105,7 +105,9 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public void delete(Long itemId) {
-        itemRepository.deleteById(itemId);
+        if (itemRepository.markDeleted(itemId) == 0) {
+            throw new NotFoundException("Item id=" + itemId + " not found!");
+        }
     }
 
     @Override
@@ -151,7 +153,7 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private List<CommentDto> getItemComments(Long itemId) {
-        return commentRepository.findAllByItemId(itemId).stream()
+        return commentRepository.findAllByItemIdAndAuthorDeletedFalse(itemId).stream()
                 .map(CommentMapper::toCommentDto)
                 .collect(Collectors.toList());
     }
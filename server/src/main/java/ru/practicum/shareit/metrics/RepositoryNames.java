@@ -0,0 +1,30 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.aop.framework.AopProxyUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names a Spring Data repository proxy after the application interface it implements, such as
+ * {@code BookingRepository}, even for inherited methods like {@code save} that are declared by Spring Data.
+ */
+public final class RepositoryNames {
+    private static final Map<Class<?>, String> NAMES = new ConcurrentHashMap<>();
+
+    private RepositoryNames() {
+    }
+
+    public static String of(Object proxy) {
+        return NAMES.computeIfAbsent(proxy.getClass(), type -> resolve(proxy));
+    }
+
+    private static String resolve(Object proxy) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+            if (type.getName().startsWith("ru.practicum.shareit.")) {
+                return type.getSimpleName();
+            }
+        }
+        return proxy.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.State;
+
+/**
+ * Times every {@code BookingService} and {@code ItemService} call as {@code shareit.service.calls}, tagged with
+ * the service, the method, the booking {@link State} when the method takes one, and the exception thrown.
+ * Arguments other than the state never become tags.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit.booking.service.BookingService+.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.service.ItemService+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String exception = NONE;
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("shareit.service.calls")
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName().replace("Impl", ""))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", state(joinPoint.getArgs()))
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String state(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof State) {
+                return ((State) arg).name();
+            }
+        }
+        return NONE;
+    }
+}
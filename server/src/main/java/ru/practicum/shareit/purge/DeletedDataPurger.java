@@ -0,0 +1,114 @@
+package ru.practicum.shareit.purge;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class DeletedDataPurger {
+    private static final List<Step> STEPS = List.of(
+            new Step("comments", "delete from comments where id in (select c.id from comments c " +
+                    "join users u on u.id = c.author_id where u.deleted = true limit ?)"),
+            new Step("comments", "delete from comments where id in (select c.id from comments c " +
+                    "join items i on i.id = c.item_id where i.deleted = true limit ?)"),
+            new Step("bookings", "delete from bookings where id in (select b.id from bookings b " +
+                    "join users u on u.id = b.booker_id where u.deleted = true limit ?)"),
+            new Step("bookings", "delete from bookings where id in (select b.id from bookings b " +
+                    "join items i on i.id = b.item_id where i.deleted = true limit ?)"),
+            new Step("items", "delete from items where id in (select i.id from items i " +
+                    "where i.deleted = true limit ?)"),
+            new Step("requests", "delete from requests where id in (select r.id from requests r " +
+                    "join users u on u.id = r.requester_id where u.deleted = true limit ?)"),
+            new Step("users", "delete from users where id in (select u.id from users u " +
+                    "where u.deleted = true limit ?)")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+    private final AtomicLong pendingUsers = new AtomicLong();
+    private final AtomicLong pendingItems = new AtomicLong();
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public DeletedDataPurger(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${shareit.purge.batch-size:500}") int batchSize,
+                             @Value("${shareit.purge.pause-millis:100}") long pauseMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.runTimer = meterRegistry.timer("shareit.purge.run");
+        Gauge.builder("shareit.purge.pending", pendingUsers, AtomicLong::get)
+                .tag("table", "users")
+                .register(meterRegistry);
+        Gauge.builder("shareit.purge.pending", pendingItems, AtomicLong::get)
+                .tag("table", "items")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.purge.interval-millis:30000}",
+            initialDelayString = "${shareit.purge.interval-millis:30000}")
+    public void purge() {
+        runTimer.record(() -> {
+            long total = 0;
+            for (Step step : STEPS) {
+                int deleted;
+                do {
+                    deleted = deleteBatch(step);
+                    total += deleted;
+                } while (deleted == batchSize && pause());
+            }
+            pendingUsers.set(count("select count(*) from users where deleted = true"));
+            pendingItems.set(count("select count(*) from items where deleted = true"));
+            if (total > 0) {
+                log.info("Purged {} rows, pending users={}, items={}", total, pendingUsers.get(), pendingItems.get());
+            }
+        });
+    }
+
+    private int deleteBatch(Step step) {
+        Integer deleted = transactionTemplate.execute(status -> jdbcTemplate.update(step.sql, batchSize));
+        int rows = deleted == null ? 0 : deleted;
+        meterRegistry.counter("shareit.purge.rows", "table", step.table).increment(rows);
+        return rows;
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Step {
+        private final String table;
+        private final String sql;
+    }
+}
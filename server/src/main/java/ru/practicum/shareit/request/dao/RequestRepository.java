@@ -2,14 +2,32 @@ package ru.practicum.shareit.request.dao;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface RequestRepository extends JpaRepository<ItemRequest, Long> {
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
     List<ItemRequest> findAllByRequesterIdOrderByCreatedAsc(Long requesterId);
 
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(" select r from ItemRequest r " +
+            "where r.requesterId <> ?1 " +
+            "and exists (select u.id from User u where u.id = r.requesterId and u.deleted = false) " +
+            "order by r.created asc ")
     List<ItemRequest> findAllByRequesterIdNotOrderByCreatedAsc(Long requesterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+    @Query(" select r from ItemRequest r " +
+            "where r.id = ?1 " +
+            "and exists (select u.id from User u where u.id = r.requesterId and u.deleted = false) ")
+    Optional<ItemRequest> findActiveById(Long id);
 }
@@ -43,7 +43,7 @@ public class RequestServiceImpl implements RequestService {
     @Override
     public ItemRequestDto getRequestById(Long userId, Long requestId) {
         validateUserByIdOrException(userId);
-        return toRequestDto(requestRepository.findById(requestId).orElseThrow(() ->
+        return toRequestDto(requestRepository.findActiveById(requestId).orElseThrow(() ->
                 new NotFoundException("Request id=" + requestId + " not found!")));
     }
 
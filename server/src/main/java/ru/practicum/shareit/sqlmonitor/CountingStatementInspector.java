@@ -0,0 +1,31 @@
+package ru.practicum.shareit.sqlmonitor;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import ru.practicum.shareit.exception.StatementBudgetExceededException;
+
+/**
+ * Counts every statement Hibernate prepares on a request thread. In strict mode the statement that goes over the
+ * route's budget is refused, which fails the request.
+ */
+@RequiredArgsConstructor
+public class CountingStatementInspector implements StatementInspector {
+    private final StatementMonitorProperties properties;
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = RequestStatements.current();
+        if (statements != null) {
+            int count = statements.record(sql);
+            if (properties.isStrict()) {
+                String route = statements.route();
+                int budget = properties.budget(route);
+                if (count > budget) {
+                    throw new StatementBudgetExceededException(String.format("%s %s exceeded its budget of %d SQL "
+                            + "statements", statements.method(), route, budget));
+                }
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.sqlmonitor;
+
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements prepared while handling the current request, grouped by shape: the statement with literals
+ * replaced by {@code ?} and {@code IN} lists collapsed, so the same query with different ids counts as a repeat.
+ */
+final class RequestStatements {
+    static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final HttpServletRequest request;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int count;
+
+    private RequestStatements(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    static RequestStatements start(HttpServletRequest request) {
+        RequestStatements statements = new RequestStatements(request);
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    int record(String sql) {
+        shapes.merge(shape(sql), 1, Integer::sum);
+        return ++count;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    Map<String, Integer> getShapes() {
+        return shapes;
+    }
+
+    String method() {
+        return request.getMethod();
+    }
+
+    /**
+     * The controller mapping, such as {@code /items/{id}}; only known once the handler has been selected.
+     */
+    String route() {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : UNKNOWN_ROUTE;
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.sqlmonitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Slow statements are logged by Hibernate itself under {@code org.hibernate.SQL_SLOW}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql-monitor.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(StatementMonitorProperties.class)
+public class StatementMonitorConfig {
+    @Bean
+    public HibernatePropertiesCustomizer statementMonitorHibernateCustomizer(StatementMonitorProperties properties) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector(properties));
+            hibernateProperties.put(AvailableSettings.LOG_SLOW_QUERY, properties.getSlowQueryThreshold().toMillis());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementMonitorFilter> statementMonitorFilter(StatementMonitorProperties properties,
+                                                                                 MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementMonitorFilter> registration =
+                new FilterRegistrationBean<>(new StatementMonitorFilter(properties, meterRegistry));
+        registration.setOrder(2);
+        return registration;
+    }
+}
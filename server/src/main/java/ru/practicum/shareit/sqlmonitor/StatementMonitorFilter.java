@@ -0,0 +1,67 @@
+package ru.practicum.shareit.sqlmonitor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records {@code shareit.sql.statements} per route for every request and warns about requests that repeat the
+ * same statement shape {@code repeatThreshold} times (the usual sign of an N+1 fetch) or go over their budget.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StatementMonitorFilter extends OncePerRequestFilter {
+    private final StatementMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatements statements = RequestStatements.start(request);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestStatements.clear();
+            report(statements);
+        }
+    }
+
+    private void report(RequestStatements statements) {
+        String method = statements.method();
+        String route = statements.route();
+        DistributionSummary.builder("shareit.sql.statements")
+                .baseUnit("statements")
+                .tag("method", method)
+                .tag("route", route)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry)
+                .record(statements.getCount());
+
+        for (Map.Entry<String, Integer> shape : statements.getShapes().entrySet()) {
+            if (shape.getValue() >= properties.getRepeatThreshold()) {
+                meterRegistry.counter("shareit.sql.repeated", "method", method, "route", route).increment();
+                log.warn("Possible N+1 in {} {}: {} executions of {}", method, route, shape.getValue(),
+                        shape.getKey());
+            }
+        }
+        int budget = properties.budget(route);
+        if (statements.getCount() > budget) {
+            log.warn("{} {} ran {} SQL statements, budget is {}", method, route, statements.getCount(), budget);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.sqlmonitor;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.sql-monitor")
+public class StatementMonitorProperties {
+    private boolean enabled = true;
+    private int repeatThreshold = 5;
+    private int defaultBudget = 50;
+    private Map<String, Integer> routeBudgets = new LinkedHashMap<>();
+    private boolean strict = false;
+    private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+    int budget(String route) {
+        return routeBudgets.getOrDefault(route, defaultBudget);
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import ru.practicum.shareit.metrics.RepositoryNames;
+
+/**
+ * Wraps service and repository calls made on a traced thread in spans named after the interface and method.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class TracingAspect {
+    private final Tracer tracer;
+
+    @Around("execution(public * ru.practicum.shareit..service.*Service+.*(..))")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName().replace("Impl", "");
+        return trace(joinPoint, service + "." + joinPoint.getSignature().getName());
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, RepositoryNames.of(joinPoint.getThis()) + "." + joinPoint.getSignature().getName());
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String name) throws Throwable {
+        if (Tracer.current() == null) {
+            return joinPoint.proceed();
+        }
+        Span span = tracer.start(name);
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.attribute("error", e.getClass().getSimpleName());
+            throw e;
+        } finally {
+            tracer.end(span);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.tracing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.tracing.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter(TracingProperties properties) {
+        return new InMemorySpanExporter(properties.getBufferSize());
+    }
+
+    @Bean
+    public Tracer tracer(TracingProperties properties, InMemorySpanExporter inMemorySpanExporter) {
+        List<SpanExporter> exporters = new ArrayList<>();
+        if (properties.getExporters().contains(TracingProperties.Exporter.MEMORY)) {
+            exporters.add(inMemorySpanExporter);
+        }
+        if (properties.getExporters().contains(TracingProperties.Exporter.LOG)) {
+            exporters.add(new LoggingSpanExporter());
+        }
+        return new Tracer(exporters);
+    }
+
+    @Bean
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    @Bean
+    public TracesEndpoint tracesEndpoint(InMemorySpanExporter inMemorySpanExporter) {
+        return new TracesEndpoint(inMemorySpanExporter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(-1);
+        return registration;
+    }
+}
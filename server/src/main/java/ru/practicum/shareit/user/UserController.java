@@ -1,18 +1,38 @@
 package ru.practicum.shareit.user;
 
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping(path = "/users")
-@RequiredArgsConstructor
+@Validated
 public class UserController {
     private final UserService userService;
+    private final ObjectWriter ndjsonWriter;
+
+    public UserController(UserService userService, ObjectMapper objectMapper) {
+        this.userService = userService;
+        this.ndjsonWriter = objectMapper.writerFor(UserDto.class)
+                .withRootValueSeparator((String) null)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
 
     @GetMapping("{id}")
     public UserDto getById(@PathVariable Long id) {
@@ -20,8 +40,27 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserDto> getAll() {
-        return userService.getAll();
+    public List<UserDto> getAll(@RequestParam(required = false, defaultValue = "0") @Min(0) Long after,
+                                @RequestParam(required = false) @Min(1) @Max(1000) Integer size) {
+        return size == null ? userService.getAll() : userService.getAll(after, size);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll(HttpServletRequest request) {
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+                userService.streamAll(userDto -> {
+                    try {
+                        ndjsonWriter.writeValue(generator, userDto);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @PostMapping
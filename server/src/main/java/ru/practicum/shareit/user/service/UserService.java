@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserDto create(UserDto userDto);
@@ -14,4 +15,8 @@ public interface UserService {
     void delete(Long id);
 
     List<UserDto> getAll();
+
+    List<UserDto> getAll(Long after, Integer size);
+
+    void streamAll(Consumer<UserDto> consumer);
 }
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.user.dto.UserMapper.toUser;
 import static ru.practicum.shareit.user.dto.UserMapper.toUserDto;
@@ -18,6 +23,8 @@ import static ru.practicum.shareit.user.dto.UserMapper.toUserDto;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
@@ -36,27 +43,46 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserDto update(UserDto userDto, Long id) {
-        User dtoUser = toUser(userDto);
-        User savedUser = toUser(getById(id));
-        String name = dtoUser.getName();
-        String email = dtoUser.getEmail();
+        User user = userRepository.findById(id).orElseThrow(() ->
+                new NotFoundException("User with id: " + id + " not found"));
+        String name = userDto.getName();
+        String email = userDto.getEmail();
         if (name != null && !name.isBlank()) {
-            savedUser.setName(name);
+            user.setName(name);
         }
         if (email != null && !email.isBlank()) {
-            savedUser.setEmail(email);
+            user.setEmail(email);
         }
-        return toUserDto(userRepository.save(savedUser));
+        userRepository.flush();
+        return toUserDto(user);
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        userRepository.deleteById(id);
+        if (userRepository.markDeleted(id) == 0) {
+            throw new NotFoundException("User with id: " + id + " not found");
+        }
+        itemRepository.markDeletedByUser(id);
     }
 
     @Override
     public List<UserDto> getAll() {
         return toUserDto(userRepository.findAll());
     }
+
+    @Override
+    public List<UserDto> getAll(Long after, Integer size) {
+        return toUserDto(userRepository.findAllByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, size)));
+    }
+
+    @Override
+    public void streamAll(Consumer<UserDto> consumer) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                consumer.accept(toUserDto(user));
+                entityManager.detach(user);
+            });
+        }
+    }
 }
@@ -0,0 +1,5 @@
+-- V1 is the schema of the original schema.sql, which databases created by it are baselined at; the soft-delete flags
+-- came later. "if not exists" covers databases that already have them, and a constant default adds the column
+-- without rewriting the table on PostgreSQL 11+
+alter table users add column if not exists deleted boolean not null default false;
+alter table items add column if not exists deleted boolean not null default false;
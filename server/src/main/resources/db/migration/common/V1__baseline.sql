@@ -1,10 +1,4 @@
-drop table if exists users cascade;
-drop table if exists requests cascade;
-drop table if exists items cascade;
-drop table if exists bookings cascade;
-drop table if exists comments cascade;
-
-create table if not exists users
+create table users
 (
     id    bigint generated by default as identity,
     name  varchar(255) not null,
@@ -13,7 +7,7 @@ create table if not exists users
     constraint unique_email unique (email)
 );
 
-create table if not exists requests
+create table requests
 (
     id           bigint generated by default as identity primary key,
     description  varchar(255) not null,
@@ -22,7 +16,7 @@ create table if not exists requests
     foreign key (requester_id) references users (id) on delete cascade
 );
 
-create table if not exists items
+create table items
 (
     id           bigint generated by default as identity primary key,
     name         varchar(255) not null,
@@ -34,7 +28,7 @@ create table if not exists items
     foreign key (request_id) references requests (id) on delete cascade
 );
 
-create table if not exists bookings
+create table bookings
 (
     id         bigint generated by default as identity primary key,
     start_date timestamp without time zone not null,
@@ -46,7 +40,7 @@ create table if not exists bookings
     foreign key (item_id) references items (id) on delete cascade
 );
 
-create table if not exists comments
+create table comments
 (
     id        bigint generated by default as identity primary key,
     text      varchar(255)                not null,
@@ -55,4 +49,4 @@ create table if not exists comments
     created   timestamp without time zone not null,
     foreign key (author_id) references users (id) on delete cascade,
     foreign key (item_id) references items (id) on delete cascade
-)
\ No newline at end of file
+);
@@ -0,0 +1,17 @@
+-- bookings of a booker, newest first
+create index bookings_booker_id_start_date_idx on bookings (booker_id, start_date desc);
+
+-- last/next booking of an item and the owner's bookings through their items
+create index bookings_item_id_start_date_idx on bookings (item_id, start_date);
+
+-- items of an owner in id order
+create index items_owner_id_id_idx on items (owner_id, id);
+
+-- items answering a request
+create index items_request_id_idx on items (request_id);
+
+-- own requests, oldest first
+create index requests_requester_id_created_idx on requests (requester_id, created);
+
+-- comments of an item
+create index comments_item_id_idx on comments (item_id);
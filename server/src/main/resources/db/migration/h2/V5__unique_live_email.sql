@@ -0,0 +1,4 @@
+-- H2 has no partial indexes: live_email is null for soft-deleted rows, and a unique constraint ignores nulls
+alter table users drop constraint unique_email;
+alter table users add column live_email varchar(255) generated always as (case when deleted then null else email end);
+alter table users add constraint unique_email unique (live_email);
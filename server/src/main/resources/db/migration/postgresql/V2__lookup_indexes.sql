@@ -0,0 +1,19 @@
+-- built concurrently so as not to block writes on a live database; Flyway runs this script outside a transaction
+
+-- bookings of a booker, newest first
+create index concurrently bookings_booker_id_start_date_idx on bookings (booker_id, start_date desc);
+
+-- last/next booking of an item and the owner's bookings through their items
+create index concurrently bookings_item_id_start_date_idx on bookings (item_id, start_date);
+
+-- items of an owner in id order
+create index concurrently items_owner_id_id_idx on items (owner_id, id);
+
+-- items answering a request
+create index concurrently items_request_id_idx on items (request_id);
+
+-- own requests, oldest first
+create index concurrently requests_requester_id_created_idx on requests (requester_id, created);
+
+-- comments of an item
+create index concurrently comments_item_id_idx on comments (item_id);
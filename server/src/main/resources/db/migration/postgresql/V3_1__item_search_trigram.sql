@@ -0,0 +1,3 @@
+-- substring search over lower(name) / lower(description) cannot use a b-tree
+create index concurrently items_name_trgm_idx on items using gin (lower(name) gin_trgm_ops);
+create index concurrently items_description_trgm_idx on items using gin (lower(description) gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- kept apart from the index builds in V3.1, which cannot run inside a transaction
+create extension if not exists pg_trgm;
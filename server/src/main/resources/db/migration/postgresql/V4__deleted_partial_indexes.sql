@@ -0,0 +1,3 @@
+-- the purge job looks up soft-deleted rows, which stay a small fraction of each table
+create index concurrently users_deleted_idx on users (id) where deleted;
+create index concurrently items_deleted_idx on items (id) where deleted;
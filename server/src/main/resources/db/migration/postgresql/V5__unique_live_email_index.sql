@@ -0,0 +1,2 @@
+-- only live users need distinct emails; a soft-deleted row keeps its email until the purge job removes it
+create unique index concurrently unique_email_live on users (email) where not deleted;
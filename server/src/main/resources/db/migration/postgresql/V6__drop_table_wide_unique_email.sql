@@ -0,0 +1,2 @@
+alter table users drop constraint unique_email;
+alter index unique_email_live rename to unique_email;
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.Value;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the most recent {@code capacity} spans. Traces are assembled on read: the local root of a trace is the
+ * span whose parent is not in the buffer (it lives in the caller, or has already been evicted).
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    private final int capacity;
+    private final Deque<Span> spans;
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void export(Span span) {
+        if (spans.size() == capacity) {
+            spans.removeFirst();
+        }
+        spans.addLast(span);
+    }
+
+    public List<Trace> slowestTraces(int limit) {
+        List<Span> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(spans);
+        }
+        Map<String, List<Span>> byTrace = new LinkedHashMap<>();
+        for (Span span : snapshot) {
+            byTrace.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>()).add(span);
+        }
+
+        List<Trace> traces = new ArrayList<>();
+        for (Map.Entry<String, List<Span>> entry : byTrace.entrySet()) {
+            List<Span> traceSpans = entry.getValue();
+            Set<String> ids = traceSpans.stream().map(Span::getSpanId).collect(Collectors.toSet());
+            traceSpans.stream()
+                    .filter(span -> span.getParentSpanId() == null || !ids.contains(span.getParentSpanId()))
+                    .max(Comparator.comparingDouble(Span::getDurationMillis))
+                    .ifPresent(root -> {
+                        traceSpans.sort(Comparator.comparing(Span::getStart));
+                        traces.add(new Trace(entry.getKey(), root.getName(), root.getDurationMillis(), traceSpans));
+                    });
+        }
+        traces.sort(Comparator.comparingDouble(Trace::getDurationMillis).reversed());
+        return traces.subList(0, Math.min(limit, traces.size()));
+    }
+
+    @Value
+    public static class Trace {
+        String traceId;
+        String name;
+        double durationMillis;
+        List<Span> spans;
+    }
+}
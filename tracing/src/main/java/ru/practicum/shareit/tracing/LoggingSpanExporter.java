@@ -0,0 +1,13 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class LoggingSpanExporter implements SpanExporter {
+    @Override
+    public void export(Span span) {
+        log.info("span trace={} id={} parent={} name=\"{}\" duration={}ms {}", span.getTraceId(), span.getSpanId(),
+                span.getParentSpanId(), span.getName(), String.format("%.3f", span.getDurationMillis()),
+                span.getAttributes());
+    }
+}
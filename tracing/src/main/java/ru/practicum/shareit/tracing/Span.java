@@ -0,0 +1,54 @@
+package ru.practicum.shareit.tracing;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Getter
+public class Span {
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private String name;
+    private final Instant start = Instant.now();
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    @JsonIgnore
+    private final Span localParent;
+    @JsonIgnore
+    private final long startNanos = System.nanoTime();
+    @JsonIgnore
+    private long durationNanos = -1;
+
+    Span(String traceId, String parentSpanId, Span localParent, String name) {
+        this.traceId = traceId;
+        this.spanId = TraceContext.newSpanId();
+        this.parentSpanId = parentSpanId;
+        this.localParent = localParent;
+        this.name = name;
+    }
+
+    public Span name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public Span attribute(String key, Object value) {
+        attributes.put(key, String.valueOf(value));
+        return this;
+    }
+
+    public TraceContext context() {
+        return new TraceContext(traceId, spanId);
+    }
+
+    public double getDurationMillis() {
+        return durationNanos / 1e6;
+    }
+
+    void end() {
+        durationNanos = System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.tracing;
+
+/**
+ * Receives every finished span on the thread that finished it, so implementations must be fast and thread-safe.
+ */
+public interface SpanExporter {
+    void export(Span span);
+}
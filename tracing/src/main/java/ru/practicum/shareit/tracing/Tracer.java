@@ -0,0 +1,53 @@
+package ru.practicum.shareit.tracing;
+
+import java.util.List;
+
+/**
+ * Keeps the current span of each thread. Spans must be ended on the thread that started them, in reverse order.
+ */
+public class Tracer {
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final List<SpanExporter> exporters;
+
+    public Tracer(List<SpanExporter> exporters) {
+        this.exporters = exporters;
+    }
+
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Starts a child of the current span, or a new trace continuing {@code remoteParent} when there is none.
+     */
+    public Span start(String name, TraceContext remoteParent) {
+        Span parent = CURRENT.get();
+        Span span;
+        if (parent != null) {
+            span = new Span(parent.getTraceId(), parent.getSpanId(), parent, name);
+        } else if (remoteParent != null) {
+            span = new Span(remoteParent.getTraceId(), remoteParent.getSpanId(), null, name);
+        } else {
+            span = new Span(TraceContext.newTraceId(), null, null, name);
+        }
+        CURRENT.set(span);
+        return span;
+    }
+
+    public Span start(String name) {
+        return start(name, null);
+    }
+
+    public void end(Span span) {
+        span.end();
+        if (span.getLocalParent() != null) {
+            CURRENT.set(span.getLocalParent());
+        } else {
+            CURRENT.remove();
+        }
+        for (SpanExporter exporter : exporters) {
+            exporter.export(span);
+        }
+    }
+}
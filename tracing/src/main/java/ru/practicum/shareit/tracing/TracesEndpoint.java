@@ -0,0 +1,24 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/traces?limit=n} lists the slowest traces still in the in-memory buffer, with all their spans.
+ */
+@Endpoint(id = "traces")
+@RequiredArgsConstructor
+public class TracesEndpoint {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final InMemorySpanExporter exporter;
+
+    @ReadOperation
+    public List<InMemorySpanExporter.Trace> slowest(@Nullable Integer limit) {
+        return exporter.slowestTraces(limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens the span of an incoming request, continuing the caller's {@code traceparent} when it sent one, and puts the
+ * trace id into the logging MDC as {@code traceId}.
+ */
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+    static final String MDC_KEY = "traceId";
+
+    private final Tracer tracer;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Span span = tracer.start("server", TraceContext.parse(request.getHeader(TraceContext.HEADER)));
+        MDC.put(MDC_KEY, span.getTraceId());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            span.name(request.getMethod() + " " + (route != null ? route : "UNKNOWN"))
+                    .attribute("http.status", response.getStatus());
+            tracer.end(span);
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
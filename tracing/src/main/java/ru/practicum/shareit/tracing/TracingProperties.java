@@ -0,0 +1,22 @@
+package ru.practicum.shareit.tracing;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.tracing")
+public class TracingProperties {
+    private boolean enabled = true;
+    private Set<Exporter> exporters = EnumSet.of(Exporter.MEMORY);
+    private int bufferSize = 10_000;
+
+    public enum Exporter {
+        MEMORY,
+        LOG
+    }
+}